@@ -0,0 +1,154 @@
+package com.spring.restaurantmanagementsystem.benchmark;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.enums.AllergenEnum;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Shared JMH state that boots the full application against an in-memory H2 database
+ * and seeds it with roughly a month of trade for a mid-sized restaurant.
+ * Command-line arguments take precedence over any local application.properties,
+ * so the benchmarks never touch a developer database.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    public static final String JWT_SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJraW5nLW9ubHktMzItYnl0ZXMtbG9uZw==";
+    public static final int TABLE_COUNT = 40;
+    public static final int MENU_ITEM_COUNT = 150;
+    public static final int ORDER_COUNT = 20_000;
+    public static final int MAX_ITEMS_PER_ORDER = 8;
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final long SEED = 42L;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--DEF_USER=admin",
+                        "--DEF_PASS=benchmark",
+                        "--DEF_EMAIL=admin@benchmark.local",
+                        "--application.security.jwt.secret-key=" + JWT_SECRET,
+                        "--application.security.jwt.expiration=3600000");
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<BigDecimal> prices = seedMenuItems(jdbcTemplate, random);
+        seedOrders(jdbcTemplate, random, prices);
+    }
+
+    // Menu items get one to three allergens each, spread over every category
+    private List<BigDecimal> seedMenuItems(JdbcTemplate jdbcTemplate, SplittableRandom random) {
+        Map<String, Long> allergenIds = jdbcTemplate.queryForList("SELECT id, name FROM allergens").stream()
+                .collect(Collectors.toMap(row -> (String) row.get("NAME"), row -> ((Number) row.get("ID")).longValue()));
+        AllergenEnum[] allergens = AllergenEnum.values();
+        CategoryEnum[] categories = CategoryEnum.values();
+
+        List<BigDecimal> prices = new ArrayList<>(MENU_ITEM_COUNT);
+        List<Object[]> menuItems = new ArrayList<>(MENU_ITEM_COUNT);
+        List<Object[]> menuItemAllergens = new ArrayList<>();
+        for (int id = 1; id <= MENU_ITEM_COUNT; id++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(350, 3_500)).movePointLeft(2);
+            int mask = 0;
+            for (int i = random.nextInt(1, 4); i > 0; i--) {
+                AllergenEnum allergen = allergens[random.nextInt(allergens.length)];
+                if ((mask & allergen.bit()) == 0) {
+                    mask |= allergen.bit();
+                    menuItemAllergens.add(new Object[]{id, allergenIds.get(allergen.name())});
+                }
+            }
+            prices.add(price);
+            menuItems.add(new Object[]{id, "Dish " + id, "Benchmark dish number " + id, price,
+                    categories[id % categories.length].name(), mask});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, description, price, category, allergen_mask) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", menuItems);
+        jdbcTemplate.batchUpdate("INSERT INTO menu_item_allergens (menu_item_id, allergen_id) VALUES (?, ?)",
+                menuItemAllergens);
+        restartSequence(jdbcTemplate, "menu_items", MENU_ITEM_COUNT + 1);
+        return prices;
+    }
+
+    // Orders are spread over the last 30 days with one to MAX_ITEMS_PER_ORDER lines each
+    private void seedOrders(JdbcTemplate jdbcTemplate, SplittableRandom random, List<BigDecimal> prices) {
+        OrderStateEnum[] states = OrderStateEnum.values();
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        long orderItemId = 1;
+
+        List<Object[]> orders = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> orderItems = new ArrayList<>(BATCH_SIZE * MAX_ITEMS_PER_ORDER);
+        for (int orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds((long) orderId * 30 * 24 * 3600 / ORDER_COUNT));
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = random.nextInt(1, MAX_ITEMS_PER_ORDER + 1); i > 0; i--) {
+                int menuItemId = random.nextInt(MENU_ITEM_COUNT) + 1;
+                int quantity = random.nextInt(1, 4);
+                BigDecimal unitPrice = prices.get(menuItemId - 1);
+                BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+                total = total.add(subtotal);
+                orderItems.add(new Object[]{orderItemId++, orderId, menuItemId, quantity, unitPrice, subtotal});
+            }
+            orders.add(new Object[]{orderId, random.nextInt(TABLE_COUNT) + 1, random.nextInt(1, 9), createdAt,
+                    createdAt, total, states[random.nextInt(states.length)].name(), random.nextInt(1, 7)});
+
+            if (orders.size() == BATCH_SIZE || orderId == ORDER_COUNT) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (id, table_id, user_id, created_at, updated_at, "
+                        + "total_amount, order_state, customer_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orders);
+                jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, menu_item_id, quantity, "
+                        + "unit_price, subtotal) VALUES (?, ?, ?, ?, ?, ?)", orderItems);
+                orders.clear();
+                orderItems.clear();
+            }
+        }
+        restartSequence(jdbcTemplate, "orders", ORDER_COUNT + 1);
+        restartSequence(jdbcTemplate, "order_items", orderItemId);
+    }
+
+    // The pooled id optimizer hands out the block that ends at the sequence value it reads
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String table, long nextId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH "
+                + (nextId + PersistenceConfig.ID_ALLOCATION_SIZE - 1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.spring.restaurantmanagementsystem.enums;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Enum.valueOf(input.toUpperCase()) idiom the services use to parse request parameters,
+ * against a case-insensitive lookup that skips the intermediate string.
+ * The invalid input measures the exception path taken for a bad parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumParsingBenchmark {
+
+    @Param({"preparing", "PREPARING", "unknown"})
+    private String input;
+
+    private final Map<String, OrderStateEnum> lookup = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    @Setup
+    public void setUp() {
+        Arrays.stream(OrderStateEnum.values()).forEach(state -> lookup.put(state.name(), state));
+    }
+
+    @Benchmark
+    public OrderStateEnum valueOfToUpperCase() {
+        try {
+            return OrderStateEnum.valueOf(input.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public OrderStateEnum valueOfToUpperCaseRootLocale() {
+        try {
+            return OrderStateEnum.valueOf(input.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public OrderStateEnum caseInsensitiveLookup() {
+        return lookup.get(input);
+    }
+}
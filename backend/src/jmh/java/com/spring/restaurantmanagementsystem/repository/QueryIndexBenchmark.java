@@ -0,0 +1,274 @@
+package com.spring.restaurantmanagementsystem.repository;
+
+import com.spring.restaurantmanagementsystem.BackendApplication;
+import com.spring.restaurantmanagementsystem.benchmark.SeededApplication;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
+import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
+import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.model.OrderItem;
+import com.spring.restaurantmanagementsystem.model.Payment;
+import com.spring.restaurantmanagementsystem.model.RestaurantTable;
+import com.spring.restaurantmanagementsystem.model.Shift;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Latency of the repository lookups and first keyset pages with and without the indexes
+ * from V2__query_indexes.sql, on a database filled by the datagen profile. The query plans
+ * are printed during setup so both runs can be compared side by side.
+ * The default is a private in-memory H2 database. Pass -p datasourceUrl=jdbc:postgresql://...
+ * (with username and password) to measure Postgres; the generated data is kept there between
+ * runs and the indexes are put back after the unindexed trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryIndexBenchmark {
+
+    private static final String INDEX_MIGRATION = "db/migration/V2__query_indexes.sql";
+    private static final Pattern INDEX_NAME = Pattern.compile("create index (\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Limit PAGE = Limit.of(20);
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param("")
+    public String datasourceUrl;
+
+    @Param("sa")
+    public String username;
+
+    @Param("")
+    public String password;
+
+    @Param("730")
+    public int days;
+
+    @Param("400")
+    public int ordersPerDay;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private PaymentRepository paymentRepository;
+    private ShiftRepository shiftRepository;
+    private RestaurantTableRepository restaurantTableRepository;
+
+    private List<Long> tableIds;
+    private List<Long> userIds;
+    private List<Long> menuItemIds;
+    private long minOrderId;
+    private long maxOrderId;
+    private LocalDate firstDay;
+    private LocalDate lastDay;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(BackendApplication.class).run(arguments());
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderItemRepository = context.getBean(OrderItemRepository.class);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        shiftRepository = context.getBean(ShiftRepository.class);
+        restaurantTableRepository = context.getBean(RestaurantTableRepository.class);
+
+        // Start from a known state even if an earlier run against the same database was cut short
+        dropIndexes();
+        if (indexed) {
+            createIndexes();
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        tableIds = jdbcTemplate.queryForList("SELECT id FROM tables", Long.class);
+        userIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM shifts", Long.class);
+        menuItemIds = jdbcTemplate.queryForList("SELECT id FROM menu_items", Long.class);
+        minOrderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+        maxOrderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        firstDay = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM orders", LocalDateTime.class).toLocalDate();
+        lastDay = jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM orders", LocalDateTime.class).toLocalDate();
+        printPlans();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (!indexed) {
+            createIndexes();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Window<Order> ordersByTable() {
+        return orderRepository.findByTableId(pick(tableIds), ScrollPosition.keyset(), PageQuery.BY_CREATED_AT, PAGE);
+    }
+
+    @Benchmark
+    public Window<Order> ordersByUser() {
+        return orderRepository.findByUserId(pick(userIds), ScrollPosition.keyset(), PageQuery.BY_CREATED_AT, PAGE);
+    }
+
+    @Benchmark
+    public Window<Order> ordersInDay() {
+        LocalDateTime start = pickDay();
+        return orderRepository.findByCreatedAtBetween(start, start.plusDays(1),
+                ScrollPosition.keyset(), PageQuery.BY_CREATED_AT, PAGE);
+    }
+
+    @Benchmark
+    public List<OrderItem> orderItemsByOrder() {
+        return orderItemRepository.findByOrderId(pickOrderId());
+    }
+
+    @Benchmark
+    public Window<OrderItem> orderItemsByMenuItem() {
+        return orderItemRepository.findByMenuItemId(pick(menuItemIds), ScrollPosition.keyset(), PageQuery.BY_ID, PAGE);
+    }
+
+    @Benchmark
+    public List<Payment> paymentsByOrder() {
+        return paymentRepository.findByOrderId(pickOrderId());
+    }
+
+    // Refunds are rare in the generated data, so without an index the page needs a long scan
+    @Benchmark
+    public Window<Payment> refundedPayments() {
+        return paymentRepository.findByPaymentStatus(PaymentStatusEnum.REFUNDED,
+                ScrollPosition.keyset(), PageQuery.BY_CREATED_AT, PAGE);
+    }
+
+    @Benchmark
+    public Window<Payment> paymentsInDay() {
+        LocalDateTime start = pickDay();
+        return paymentRepository.findByCreatedAtBetween(start, start.plusDays(1),
+                ScrollPosition.keyset(), PageQuery.BY_CREATED_AT, PAGE);
+    }
+
+    @Benchmark
+    public Window<Shift> shiftsByUser() {
+        return shiftRepository.findByUserId(pick(userIds), ScrollPosition.keyset(), PageQuery.BY_ID, PAGE);
+    }
+
+    @Benchmark
+    public List<RestaurantTable> tablesByState() {
+        TableStateEnum[] states = TableStateEnum.values();
+        return restaurantTableRepository.findByTableState(states[ThreadLocalRandom.current().nextInt(states.length)]);
+    }
+
+    // Command-line arguments take precedence over any local application.properties
+    private String[] arguments() {
+        boolean h2 = datasourceUrl.isEmpty();
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=datagen",
+                "--spring.datasource.url=" + (h2 ? "jdbc:h2:mem:indexes;DB_CLOSE_DELAY=-1" : datasourceUrl),
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--app.datagen.days=" + days,
+                "--app.datagen.orders-per-day=" + ordersPerDay,
+                "--DEF_USER=admin",
+                "--DEF_PASS=benchmark",
+                "--DEF_EMAIL=admin@benchmark.local",
+                "--application.security.jwt.secret-key=" + SeededApplication.JWT_SECRET,
+                "--application.security.jwt.expiration=3600000"));
+        return arguments.toArray(String[]::new);
+    }
+
+    private void dropIndexes() throws IOException {
+        String migration = new ClassPathResource(INDEX_MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = INDEX_NAME.matcher(migration);
+        while (matcher.find()) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + matcher.group(1));
+        }
+    }
+
+    private void createIndexes() {
+        new ResourceDatabasePopulator(new ClassPathResource(INDEX_MIGRATION))
+                .execute(context.getBean(DataSource.class));
+    }
+
+    // Hand-written equivalents of the SQL Hibernate generates, with one sample of each parameter
+    private void printPlans() {
+        boolean postgres = datasourceUrl.startsWith("jdbc:postgresql:");
+        String explain = postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ANALYZE ";
+        String day = "TIMESTAMP '" + lastDay.atStartOfDay() + "'";
+        String nextDay = "TIMESTAMP '" + lastDay.plusDays(1).atStartOfDay() + "'";
+        long orderId = (minOrderId + maxOrderId) / 2;
+        int rows = PAGE.max() + 1;
+
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("ordersByTable", "SELECT * FROM orders WHERE table_id = " + tableIds.get(0)
+                + " ORDER BY created_at DESC, id DESC LIMIT " + rows);
+        queries.put("ordersByUser", "SELECT * FROM orders WHERE user_id = " + userIds.get(0)
+                + " ORDER BY created_at DESC, id DESC LIMIT " + rows);
+        queries.put("ordersInDay", "SELECT * FROM orders WHERE created_at BETWEEN " + day + " AND " + nextDay
+                + " ORDER BY created_at DESC, id DESC LIMIT " + rows);
+        queries.put("orderItemsByOrder", "SELECT * FROM order_items WHERE order_id = " + orderId);
+        queries.put("orderItemsByMenuItem", "SELECT * FROM order_items WHERE menu_item_id = " + menuItemIds.get(0)
+                + " ORDER BY id LIMIT " + rows);
+        queries.put("paymentsByOrder", "SELECT * FROM payments WHERE order_id = " + orderId);
+        queries.put("refundedPayments", "SELECT * FROM payments WHERE payment_status = 'REFUNDED'"
+                + " ORDER BY created_at DESC, id DESC LIMIT " + rows);
+        queries.put("paymentsInDay", "SELECT * FROM payments WHERE created_at BETWEEN " + day + " AND " + nextDay
+                + " ORDER BY created_at DESC, id DESC LIMIT " + rows);
+        queries.put("shiftsByUser", "SELECT * FROM shifts WHERE user_id = " + userIds.get(0)
+                + " ORDER BY id LIMIT " + rows);
+        queries.put("tablesByState", "SELECT * FROM tables WHERE table_state = 'AVAILABLE'");
+
+        System.out.println();
+        System.out.println("Query plans " + (indexed ? "with" : "without") + " the V2 indexes");
+        queries.forEach((name, sql) -> {
+            System.out.println("-- " + name);
+            jdbcTemplate.queryForList(explain + sql, String.class).forEach(System.out::println);
+        });
+    }
+
+    private static long pick(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private long pickOrderId() {
+        return ThreadLocalRandom.current().nextLong(minOrderId, maxOrderId + 1);
+    }
+
+    private LocalDateTime pickDay() {
+        return firstDay.plusDays(ThreadLocalRandom.current().nextLong(ChronoUnit.DAYS.between(firstDay, lastDay) + 1))
+                .atStartOfDay();
+    }
+}
@@ -0,0 +1,152 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Throughput of one authenticated request through the JWT filter.
+ * The legacy variant reproduces the original implementation, which rebuilt the key and
+ * parser on every call, verified the same token three times and loaded the user per request.
+ * Its user lookup is an in-memory stub here, so the gap in production is larger still.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJraW5nLW9ubHktMzItYnl0ZXMtbG9uZw==";
+    private static final String USERNAME = "waiter";
+    private static final Long USER_ID = 1L;
+
+    private OncePerRequestFilter filter;
+    private OncePerRequestFilter legacyFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> {
+    };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtService.init();
+
+        AuthenticatedUser user = new AuthenticatedUser(USER_ID, USERNAME, "unused",
+                List.of(new SimpleGrantedAuthority("ROLE_WAITER")), 0L);
+        UserDetailsService userDetailsService = username -> user;
+
+        // Token versions are served from the cache after the first lookup, as in production
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0L));
+        TokenVersionCache tokenVersionCache = new TokenVersionCache(userRepository, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5));
+
+        filter = new JwtAuthenticationFilter(jwtService, tokenVersionCache);
+        legacyFilter = new LegacyJwtAuthenticationFilter(SECRET, userDetailsService);
+
+        request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setCookies(new Cookie("jwtToken", jwtService.generateToken(user)));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication filter() throws ServletException, IOException {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Authentication legacyFilter() throws ServletException, IOException {
+        return authenticate(legacyFilter);
+    }
+
+    private Authentication authenticate(OncePerRequestFilter target) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        target.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * Copy of the filter and JwtService verification path before the parsed claims were reused.
+     */
+    static final class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+        private final String secretKey;
+        private final UserDetailsService userDetailsService;
+
+        LegacyJwtAuthenticationFilter(String secretKey, UserDetailsService userDetailsService) {
+            this.secretKey = secretKey;
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                        @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain filterChain) throws ServletException, IOException {
+            String jwt = request.getCookies()[0].getValue();
+            String username = extractClaim(jwt, Claims::getSubject);
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (isTokenValid(jwt, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean isTokenValid(String token, UserDetails userDetails) {
+            String username = extractClaim(token, Claims::getSubject);
+            return username.equals(userDetails.getUsername())
+                    && !extractClaim(token, Claims::getExpiration).before(new Date());
+        }
+
+        private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+            Claims claims = Jwts.parser()
+                    .verifyWith(key)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            return claimsResolver.apply(claims);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.spring.restaurantmanagementsystem.benchmark.SeededApplication;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost of the JwtService bean from the seeded application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        jwtService = application.getBean(JwtService.class);
+        user = new AuthenticatedUser(1L, "waiter", "unused",
+                List.of(new SimpleGrantedAuthority("ROLE_WAITER"), new SimpleGrantedAuthority("ROLE_CASHIER")), 0L);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parseToAuthenticatedUser() {
+        return jwtService.toAuthenticatedUser(jwtService.parseToken(token));
+    }
+}
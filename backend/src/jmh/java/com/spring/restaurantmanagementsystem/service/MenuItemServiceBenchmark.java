@@ -0,0 +1,70 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.benchmark.SeededApplication;
+import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.MenuSnapshot;
+import com.spring.restaurantmanagementsystem.event.MenuChangedEvent;
+import com.spring.restaurantmanagementsystem.model.MenuItem;
+import com.spring.restaurantmanagementsystem.repository.MenuItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.AopTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping the seeded menu to DTOs, of a cached menu read,
+ * and of rebuilding the snapshot after an invalidation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuItemServiceBenchmark {
+
+    private MenuItemService menuItemService;
+    private MenuItemService target;
+    private MenuCache menuCache;
+    private MethodHandle convertToDto;
+    private List<MenuItem> menuItems;
+
+    @Setup
+    public void setUp(SeededApplication application) throws ReflectiveOperationException {
+        menuItemService = application.getBean(MenuItemService.class);
+        target = AopTestUtils.getUltimateTargetObject(menuItemService);
+        menuCache = application.getBean(MenuCache.class);
+        convertToDto = MethodHandles.privateLookupIn(MenuItemService.class, MethodHandles.lookup())
+                .findVirtual(MenuItemService.class, "convertToDto",
+                        MethodType.methodType(MenuItemDto.class, MenuItem.class));
+
+        // Allergens are fetched eagerly, so the detached items can be mapped outside a session
+        menuItems = application.getBean(MenuItemRepository.class).findAllWithAllergens();
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) throws Throwable {
+        for (MenuItem menuItem : menuItems) {
+            blackhole.consume((MenuItemDto) convertToDto.invokeExact(target, menuItem));
+        }
+    }
+
+    @Benchmark
+    public MenuSnapshot cachedSnapshot() {
+        return menuItemService.getMenuSnapshot();
+    }
+
+    @Benchmark
+    public MenuSnapshot rebuildSnapshot() {
+        menuCache.onMenuChanged(new MenuChangedEvent(null));
+        return menuItemService.getMenuSnapshot();
+    }
+}
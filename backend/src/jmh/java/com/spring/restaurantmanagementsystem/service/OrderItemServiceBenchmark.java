@@ -0,0 +1,48 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.benchmark.SeededApplication;
+import com.spring.restaurantmanagementsystem.model.OrderItem;
+import com.spring.restaurantmanagementsystem.repository.OrderItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the BigDecimal reduce behind every order total update.
+ * Eight lines is the largest seeded order; a thousand approximates a day's takings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderItemServiceBenchmark {
+
+    @Param({"8", "1000"})
+    private int itemCount;
+
+    private OrderItemService orderItemService;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        orderItemService = application.getBean(OrderItemService.class);
+        orderItems = application.getBean(OrderItemRepository.class)
+                .findAll(PageRequest.of(0, itemCount, Sort.by("id")))
+                .getContent();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return orderItemService.calculateTotal(orderItems);
+    }
+}
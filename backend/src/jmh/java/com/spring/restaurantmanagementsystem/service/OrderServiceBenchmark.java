@@ -0,0 +1,92 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.benchmark.SeededApplication;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.OrderItemDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.AopTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of turning orders into DTOs, in isolation and as part of a full page read,
+ * and of creating a large order. The page benchmark includes both queries and the create
+ * benchmark all inserts against the seeded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int LARGE_ORDER_LINES = 40;
+
+    private OrderService orderService;
+    private OrderService target;
+    private MethodHandle convertToDto;
+    private List<Order> orders;
+    private Map<Long, List<OrderItemDto>> itemsByOrderId;
+    private CreateOrderRequest largeOrder;
+
+    @Setup
+    public void setUp(SeededApplication application) throws ReflectiveOperationException {
+        orderService = application.getBean(OrderService.class);
+        target = AopTestUtils.getUltimateTargetObject(orderService);
+        convertToDto = MethodHandles.privateLookupIn(OrderService.class, MethodHandles.lookup())
+                .findVirtual(OrderService.class, "convertToDto",
+                        MethodType.methodType(OrderDto.class, Order.class, List.class));
+
+        // Detached entities, so the conversion benchmark measures mapping only
+        orders = application.getBean(OrderRepository.class)
+                .findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")))
+                .getContent();
+        itemsByOrderId = application.getBean(OrderItemService.class)
+                .getOrderItemsByOrderIds(orders.stream().map(Order::getId).toList());
+
+        // A large party's whole order entered at once
+        List<CreateOrderItemRequest> lines = IntStream.rangeClosed(1, LARGE_ORDER_LINES)
+                .mapToObj(i -> new CreateOrderItemRequest((long) i, 1, new BigDecimal("9.50")))
+                .toList();
+        largeOrder = new CreateOrderRequest(1L, 1L, lines, "PENDING", 12);
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) throws Throwable {
+        for (Order order : orders) {
+            blackhole.consume((OrderDto) convertToDto.invokeExact(target, order,
+                    itemsByOrderId.getOrDefault(order.getId(), List.of())));
+        }
+    }
+
+    @Benchmark
+    public CursorPage<OrderDto> getAllOrdersPage() {
+        return orderService.getAllOrders(PageQuery.firstPage(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public OrderDto createLargeOrder() {
+        return orderService.createOrder(largeOrder);
+    }
+}
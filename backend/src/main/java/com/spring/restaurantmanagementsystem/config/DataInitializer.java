@@ -5,6 +5,7 @@ import com.spring.restaurantmanagementsystem.model.*;
 import com.spring.restaurantmanagementsystem.repository.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +14,7 @@ import java.util.Arrays;
 import java.util.Set;
 
 @Component
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
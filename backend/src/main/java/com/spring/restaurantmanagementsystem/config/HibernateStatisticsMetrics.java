@@ -0,0 +1,45 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes Hibernate's statement and query counters as meters, so load tests can read how many
+ * database round trips a run cost from /actuator/metrics.
+ * Only active when Hibernate statistics are enabled, as in the loadtest profile.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("hibernate.statements", statistics, Statistics::getPrepareStatementCount)
+                .description("JDBC statements prepared")
+                .tag("status", "prepared")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.executions", statistics, Statistics::getQueryExecutionCount)
+                .description("HQL and native queries executed")
+                .register(registry);
+        FunctionCounter.builder("hibernate.flushes", statistics, Statistics::getFlushCount)
+                .description("Persistence context flushes")
+                .register(registry);
+        FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getSuccessfulTransactionCount)
+                .description("Transactions committed")
+                .tag("result", "success")
+                .register(registry);
+    }
+}
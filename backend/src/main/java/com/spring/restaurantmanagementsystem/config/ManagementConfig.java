@@ -0,0 +1,13 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Actuator defaults kept under version control: which endpoints are exposed over HTTP.
+ * Values set in the local application.properties take precedence.
+ */
+@Configuration
+@PropertySource("classpath:management.properties")
+public class ManagementConfig {
+}
@@ -0,0 +1,19 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Shared JPA and Hibernate defaults kept under version control.
+ * Values set in the local application.properties take precedence.
+ */
+@Configuration
+@PropertySource("classpath:persistence.properties")
+public class PersistenceConfig {
+
+    /**
+     * Ids each sequence call reserves for the pooled optimizer. The database sequences are created
+     * with an increment of 50 (V3 migration), so changing this needs a migration that alters them.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+}
@@ -1,6 +1,8 @@
 package com.spring.restaurantmanagementsystem.config;
 
+import com.spring.restaurantmanagementsystem.security.BoundedPasswordEncoder;
 import com.spring.restaurantmanagementsystem.security.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,11 +14,13 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.session.NullAuthenticatedSessionStrategy;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
@@ -41,23 +45,37 @@ public class SecurityConfig {
 
     /**
      * Configures the password encoder bean.
+     * Hashing runs on a bounded pool of its own, and hashes made with a lower cost than
+     * the configured strength are reported for upgrade on the next successful login.
      *
-     * @return The BCryptPasswordEncoder instance.
+     * @param strength The BCrypt cost factor for new hashes.
+     * @param poolSize The number of threads hashing passwords concurrently, or 0 for half the cores.
+     * @param queueCapacity The number of hashing requests allowed to wait for a thread.
+     * @return The bounded BCrypt password encoder.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.bcrypt.pool-size:0}") int poolSize,
+            @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity) {
+        // By default leave at least half of the cores to the rest of the application
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity);
     }
 
     /**
      * Configures the authentication provider bean.
      *
+     * @param passwordEncoder The password encoder.
+     * @param passwordService Stores upgraded password hashes after a successful login.
      * @return The DaoAuthenticationProvider instance.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+                                                         UserDetailsPasswordService passwordService) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(passwordService);
         return authProvider;
     }
 
@@ -98,7 +116,11 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-XSRF-TOKEN", "X-CSRF-TOKEN", "x-csrf-token"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-XSRF-TOKEN", "X-CSRF-TOKEN", "x-csrf-token", "If-Match",
+                "Last-Event-ID", "Idempotency-Key"));
+        // Paging metadata of the list endpoints, the ETag of versioned resources and replayed creates are flagged in response headers
+        configuration.setExposedHeaders(List.of("X-Has-Next", "X-Next-After-Id", "X-Next-After-Created-At", "ETag",
+                "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -111,16 +133,21 @@ public class SecurityConfig {
      * session management, and filters.
      *
      * @param http The HttpSecurity object to configure.
+     * @param authenticationProvider The provider that checks login credentials.
      * @return The SecurityFilterChain instance.
      * @throws Exception if an error occurs.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf
                         .csrfTokenRepository(csrfTokenRepository())
                         .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
+                        // Sessions are stateless, so every JWT-authenticated request looks like a new login;
+                        // the token is issued at login instead of being rotated (and cleared) on each request
+                        .sessionAuthenticationStrategy(new NullAuthenticatedSessionStrategy())
                         .ignoringRequestMatchers("/api/auth/login", "/api/auth/logout", "/api/admin/**"))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
@@ -137,15 +164,17 @@ public class SecurityConfig {
                         .requestMatchers("/api/tables/**").authenticated()
                         .requestMatchers("/api/orders/**").authenticated()
                         .requestMatchers("/api/order-items/**").authenticated()
+                        .requestMatchers("/api/kitchen/**").authenticated()
                         .requestMatchers("/api/cashier/**").hasRole("CASHIER")
 
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
 
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
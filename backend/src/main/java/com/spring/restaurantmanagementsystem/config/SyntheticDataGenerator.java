@@ -0,0 +1,415 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
+import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
+import com.spring.restaurantmanagementsystem.enums.RoleEnum;
+import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads years of synthetic trade for pagination, indexing and reporting tests.
+ * Runs after DataInitializer when the datagen profile is active, and writes tables, staff with
+ * shifts, menu items, orders, order items and payments with plain JDBC batches, committing one
+ * batch per transaction so memory stays flat however many rows are generated.
+ * Ids are assigned here rather than drawn row by row, so that items and payments can reference
+ * their order without a round trip. Each range starts at a block freshly reserved from the table's
+ * sequence, and the sequence is moved past the range at the end.
+ * The data is deterministic for a given seed. Staff get their roles in the last transaction, so a
+ * generated waiter with a role marks a completed run, and a second start with the profile is a no-op.
+ * A run that stopped part way is removed and generated again on the next start.
+ */
+@Component
+@Profile("datagen")
+@Order(1)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String STAFF_PREFIX = "gen-";
+    private static final String MARKER_USERNAME = STAFF_PREFIX + "waiter-1";
+    private static final int OPENING_HOUR = 11;
+
+    // Relative arrivals per hour from opening: a lunch peak at 13:00 and a larger dinner peak at 20:00
+    private static final int[] HOURLY_WEIGHTS = {3, 8, 14, 9, 3, 2, 4, 9, 15, 17, 12, 5};
+    private static final int[] CUMULATIVE_HOURLY_WEIGHTS = cumulative(HOURLY_WEIGHTS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Dialect dialect;
+    private final int tableCount;
+    private final int waiterCount;
+    private final int cashierCount;
+    private final int menuItemCount;
+    private final int days;
+    private final int ordersPerDay;
+    private final int batchSize;
+    private final String staffPassword;
+    private final SplittableRandom random;
+
+    private final List<Object[]> orderRows = new ArrayList<>();
+    private final List<Object[]> orderItemRows = new ArrayList<>();
+    private final List<Object[]> paymentRows = new ArrayList<>();
+    private final List<Object[]> staffRoleRows = new ArrayList<>();
+    private long nextOrderId;
+    private long nextOrderItemId;
+    private long nextPaymentId;
+    private long rowsWritten;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  PasswordEncoder passwordEncoder,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${app.datagen.tables:60}") int tableCount,
+                                  @Value("${app.datagen.waiters:40}") int waiterCount,
+                                  @Value("${app.datagen.cashiers:10}") int cashierCount,
+                                  @Value("${app.datagen.menu-items:120}") int menuItemCount,
+                                  @Value("${app.datagen.days:730}") int days,
+                                  @Value("${app.datagen.orders-per-day:400}") int ordersPerDay,
+                                  @Value("${app.datagen.batch-size:5000}") int batchSize,
+                                  @Value("${app.datagen.staff-password:generated}") String staffPassword,
+                                  @Value("${app.datagen.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.tableCount = tableCount;
+        this.waiterCount = waiterCount;
+        this.cashierCount = cashierCount;
+        this.menuItemCount = menuItemCount;
+        this.days = days;
+        this.ordersPerDay = ordersPerDay;
+        this.batchSize = batchSize;
+        this.staffPassword = staffPassword;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer completed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users u "
+                + "JOIN user_roles ur ON ur.user_id = u.id WHERE u.username = ?", Integer.class, MARKER_USERNAME);
+        if (completed != null && completed > 0) {
+            log.info("Synthetic data already present, skipping generation");
+            return;
+        }
+        removeIncompleteRun();
+
+        long start = System.nanoTime();
+        List<Long> tableIds = generateTables();
+        List<Long> waiterIds = generateStaff("waiter", waiterCount, RoleEnum.WAITER);
+        List<Long> cashierIds = generateStaff("cashier", cashierCount, RoleEnum.CASHIER);
+        Map<CategoryEnum, List<MenuEntry>> menu = generateMenu();
+
+        nextOrderId = nextId("orders");
+        nextOrderItemId = nextId("order_items");
+        nextPaymentId = nextId("payments");
+
+        LocalDate firstDay = LocalDate.now().minusDays(days);
+        List<Object[]> shiftRows = new ArrayList<>();
+        long nextShiftId = nextId("shifts");
+        for (int day = 0; day < days; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            nextShiftId = addShifts(shiftRows, nextShiftId, date, waiterIds);
+            nextShiftId = addShifts(shiftRows, nextShiftId, date, cashierIds);
+            addOrders(date, tableIds, waiterIds, menu);
+            if (orderRows.size() >= batchSize) {
+                flush(shiftRows);
+            }
+            if ((day + 1) % 30 == 0) {
+                log.info("Generated {} of {} days, {} rows so far", day + 1, days, rowsWritten);
+            }
+        }
+        flush(shiftRows);
+
+        restartSequence("orders", nextOrderId);
+        restartSequence("order_items", nextOrderItemId);
+        restartSequence("payments", nextPaymentId);
+        restartSequence("shifts", nextShiftId);
+        grantStaffRoles();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Generated {} rows in {}s ({} rows/s)", rowsWritten, elapsed.toSeconds(),
+                rowsWritten * 1_000 / Math.max(elapsed.toMillis(), 1));
+    }
+
+    private List<Long> generateTables() {
+        Set<Integer> existingNumbers = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT number FROM tables", Integer.class));
+        long nextId = nextId("tables");
+        List<Object[]> rows = new ArrayList<>();
+        for (int number = 1; number <= tableCount; number++) {
+            if (!existingNumbers.contains(number)) {
+                rows.add(new Object[]{nextId++, number, TableStateEnum.AVAILABLE.name()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tables (id, number, table_state) VALUES (?, ?, ?)", rows);
+        restartSequence("tables", nextId);
+        return jdbcTemplate.queryForList("SELECT id FROM tables WHERE number <= ? ORDER BY number",
+                Long.class, tableCount);
+    }
+
+    // Staff share one password hash, so generating thousands of users does not mean thousands of BCrypt rounds
+    private List<Long> generateStaff(String prefix, int count, RoleEnum role) {
+        Long roleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, role.name());
+        String passwordHash = passwordEncoder.encode(staffPassword);
+        long firstId = nextId("users");
+
+        List<Object[]> users = new ArrayList<>(count);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            long id = firstId + i - 1;
+            String username = STAFF_PREFIX + prefix + "-" + i;
+            users.add(new Object[]{id, username, username + "@generated.local", passwordHash, 0L});
+            staffRoleRows.add(new Object[]{id, roleId});
+            ids.add(id);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, username, email, password, token_version) VALUES (?, ?, ?, ?, ?)", users);
+        restartSequence("users", firstId + count);
+        rowsWritten += users.size();
+        return ids;
+    }
+
+    // Written last: the marker waiter only has a role once all of the run's data is committed
+    private void grantStaffRoles() {
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", staffRoleRows);
+        rowsWritten += staffRoleRows.size();
+    }
+
+    // Generated orders and shifts all belong to generated staff; tables and menu items are reused as they are
+    private void removeIncompleteRun() {
+        String staff = "SELECT id FROM users WHERE username LIKE '" + STAFF_PREFIX + "%'";
+        Integer staffCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + staff + ") s", Integer.class);
+        if (staffCount == null || staffCount == 0) {
+            return;
+        }
+
+        log.warn("Removing the data of an incomplete generation run ({} generated staff)", staffCount);
+        String orders = "SELECT id FROM orders WHERE user_id IN (" + staff + ")";
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM payments WHERE order_id IN (" + orders + ")");
+            jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (" + orders + ")");
+            jdbcTemplate.update("DELETE FROM orders WHERE user_id IN (" + staff + ")");
+            jdbcTemplate.update("DELETE FROM shifts WHERE user_id IN (" + staff + ")");
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (" + staff + ")");
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE '" + STAFF_PREFIX + "%'");
+        });
+    }
+
+    private Map<CategoryEnum, List<MenuEntry>> generateMenu() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM menu_items", Integer.class);
+        if (existing == null || existing < menuItemCount) {
+            CategoryEnum[] categories = CategoryEnum.values();
+            long firstId = nextId("menu_items");
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < menuItemCount - (existing == null ? 0 : existing); i++) {
+                CategoryEnum category = categories[i % categories.length];
+                rows.add(new Object[]{firstId + i, "Generated " + category.name().toLowerCase() + " " + (firstId + i),
+                        "Synthetic menu item", priceFor(category), category.name(), 0});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, description, price, category, allergen_mask) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+            restartSequence("menu_items", firstId + rows.size());
+            rowsWritten += rows.size();
+        }
+
+        Map<CategoryEnum, List<MenuEntry>> menu = new EnumMap<>(CategoryEnum.class);
+        jdbcTemplate.query("SELECT id, price, category FROM menu_items", row -> {
+            menu.computeIfAbsent(CategoryEnum.valueOf(row.getString("category")), key -> new ArrayList<>())
+                    .add(new MenuEntry(row.getLong("id"), row.getBigDecimal("price")));
+        });
+        return menu;
+    }
+
+    // Each member of staff works five days out of seven, on the lunch or the dinner shift
+    private long addShifts(List<Object[]> rows, long nextId, LocalDate date, List<Long> staffIds) {
+        for (Long userId : staffIds) {
+            if (random.nextInt(7) < 5) {
+                boolean lunch = random.nextBoolean();
+                LocalDateTime start = date.atTime(lunch ? 10 : 16, 30);
+                LocalDateTime end = start.plusHours(lunch ? 6 : 8);
+                rows.add(new Object[]{nextId++, Timestamp.valueOf(start), Timestamp.valueOf(end), userId});
+            }
+        }
+        return nextId;
+    }
+
+    private void addOrders(LocalDate date, List<Long> tableIds, List<Long> waiterIds,
+                           Map<CategoryEnum, List<MenuEntry>> menu) {
+        // Weekends are busiest, Mondays quietest, with +/- 15% day-to-day noise
+        double dayFactor = switch (date.getDayOfWeek()) {
+            case FRIDAY, SATURDAY -> 1.4;
+            case SUNDAY -> 1.1;
+            case MONDAY -> 0.7;
+            default -> 0.9;
+        };
+        int orders = (int) Math.round(ordersPerDay * dayFactor * (0.85 + random.nextDouble() * 0.3));
+
+        for (int i = 0; i < orders; i++) {
+            long orderId = nextOrderId++;
+            LocalDateTime createdAt = date.atTime(OPENING_HOUR + sampleHour(), random.nextInt(60), random.nextInt(60));
+            LocalDateTime closedAt = createdAt.plusMinutes(45 + random.nextInt(75));
+            int guests = partySize();
+            OrderStateEnum state = random.nextInt(100) < 2 ? OrderStateEnum.CANCELLED : OrderStateEnum.PAID;
+
+            BigDecimal total = BigDecimal.ZERO;
+            for (int guest = 0; guest < guests; guest++) {
+                total = total.add(addItem(orderId, menu, CategoryEnum.MAIN, 1));
+                if (random.nextInt(100) < 40) {
+                    total = total.add(addItem(orderId, menu, CategoryEnum.STARTER, 1));
+                }
+                if (random.nextInt(100) < 85) {
+                    total = total.add(addItem(orderId, menu, CategoryEnum.BEVERAGE, 1 + random.nextInt(3)));
+                }
+                if (random.nextInt(100) < 30) {
+                    total = total.add(addItem(orderId, menu, CategoryEnum.DESSERT, 1));
+                }
+                if (random.nextInt(100) < 10) {
+                    total = total.add(addItem(orderId, menu, CategoryEnum.ADDITIONAL, 1));
+                }
+            }
+
+            orderRows.add(new Object[]{orderId, tableIds.get(random.nextInt(tableIds.size())),
+                    waiterIds.get(random.nextInt(waiterIds.size())), Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(closedAt), total, state.name(), guests});
+            if (state == OrderStateEnum.PAID) {
+                addPayment(orderId, total, closedAt);
+            }
+        }
+    }
+
+    private BigDecimal addItem(long orderId, Map<CategoryEnum, List<MenuEntry>> menu, CategoryEnum category,
+                               int quantity) {
+        List<MenuEntry> entries = menu.getOrDefault(category, List.of());
+        if (entries.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        MenuEntry entry = entries.get(random.nextInt(entries.size()));
+        BigDecimal subtotal = entry.price().multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+        orderItemRows.add(new Object[]{nextOrderItemId++, orderId, entry.id(), quantity, entry.price(), subtotal});
+        return subtotal;
+    }
+
+    // Card dominates, then cash, with the odd split bill; a few card payments fail once before succeeding
+    private void addPayment(long orderId, BigDecimal total, LocalDateTime paidAt) {
+        int roll = random.nextInt(100);
+        PaymentMethodEnum method = roll < 65 ? PaymentMethodEnum.CARD
+                : roll < 95 ? PaymentMethodEnum.CASH : PaymentMethodEnum.SPLIT;
+        if (method == PaymentMethodEnum.CARD && random.nextInt(100) < 2) {
+            paymentRows.add(new Object[]{nextPaymentId++, total, method.name(), PaymentStatusEnum.FAILED.name(),
+                    orderId, Timestamp.valueOf(paidAt.minusMinutes(1))});
+        }
+        PaymentStatusEnum status = random.nextInt(1_000) < 5 ? PaymentStatusEnum.REFUNDED : PaymentStatusEnum.COMPLETED;
+        paymentRows.add(new Object[]{nextPaymentId++, total, method.name(), status.name(), orderId,
+                Timestamp.valueOf(paidAt)});
+    }
+
+    private void flush(List<Object[]> shiftRows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, table_id, user_id, created_at, updated_at, "
+                    + "total_amount, order_state, customer_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orderRows);
+            jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, menu_item_id, quantity, unit_price, "
+                    + "subtotal) VALUES (?, ?, ?, ?, ?, ?)", orderItemRows);
+            jdbcTemplate.batchUpdate("INSERT INTO payments (id, amount, payment_method, payment_status, order_id, "
+                    + "created_at) VALUES (?, ?, ?, ?, ?, ?)", paymentRows);
+            jdbcTemplate.batchUpdate("INSERT INTO shifts (id, start_date, end_date, user_id) VALUES (?, ?, ?, ?)",
+                    shiftRows);
+        });
+        rowsWritten += orderRows.size() + orderItemRows.size() + paymentRows.size() + shiftRows.size();
+        orderRows.clear();
+        orderItemRows.clear();
+        paymentRows.clear();
+        shiftRows.clear();
+    }
+
+    // Reserves a block from the sequence the way the pooled optimizer does; blocks the application
+    // has already reserved all end below it, so ids counted up from its start cannot collide with them
+    private long nextId(String table) {
+        Long blockEnd = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(table + "_seq"), Long.class);
+        return blockEnd - PersistenceConfig.ID_ALLOCATION_SIZE + 1;
+    }
+
+    // Moves the sequence so that the next block the application reserves starts at nextId
+    private void restartSequence(String table, long nextId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH "
+                + (nextId + PersistenceConfig.ID_ALLOCATION_SIZE - 1));
+    }
+
+    private int sampleHour() {
+        int roll = random.nextInt(CUMULATIVE_HOURLY_WEIGHTS[CUMULATIVE_HOURLY_WEIGHTS.length - 1]);
+        for (int hour = 0; hour < CUMULATIVE_HOURLY_WEIGHTS.length; hour++) {
+            if (roll < CUMULATIVE_HOURLY_WEIGHTS[hour]) {
+                return hour;
+            }
+        }
+        return CUMULATIVE_HOURLY_WEIGHTS.length - 1;
+    }
+
+    // Mostly couples, with a tail of larger groups
+    private int partySize() {
+        int roll = random.nextInt(100);
+        if (roll < 15) {
+            return 1;
+        } else if (roll < 55) {
+            return 2;
+        } else if (roll < 75) {
+            return 3;
+        } else if (roll < 92) {
+            return 4;
+        }
+        return 5 + random.nextInt(6);
+    }
+
+    private BigDecimal priceFor(CategoryEnum category) {
+        int cents = switch (category) {
+            case STARTER -> 600 + random.nextInt(900);
+            case MAIN -> 1_200 + random.nextInt(2_000);
+            case DESSERT -> 500 + random.nextInt(600);
+            case BEVERAGE -> 200 + random.nextInt(800);
+            case ADDITIONAL -> 150 + random.nextInt(450);
+        };
+        return BigDecimal.valueOf(cents).movePointLeft(2);
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] cumulative = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private record MenuEntry(long id, BigDecimal price) {
+    }
+}
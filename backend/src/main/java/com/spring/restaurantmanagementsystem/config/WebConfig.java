@@ -0,0 +1,27 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * MVC settings for streamed responses.
+ * Exports are written asynchronously, so the container's default async timeout
+ * would cut off long date ranges halfway through.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final Duration asyncTimeout;
+
+    public WebConfig(@Value("${app.export.timeout:PT10M}") Duration asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+}
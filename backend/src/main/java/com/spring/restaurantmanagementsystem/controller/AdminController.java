@@ -2,6 +2,8 @@ package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.ChangePasswordRequest;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
 import com.spring.restaurantmanagementsystem.service.AdminService;
@@ -26,9 +28,9 @@ public class AdminController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = adminService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDto>> getAllUsers(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<UserDto> users = adminService.getAllUsers(pageQuery);
+        return CursorPageResponses.ok(users);
     }
 
     @PostMapping
@@ -1,11 +1,17 @@
 package com.spring.restaurantmanagementsystem.controller;
 
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.PaymentDto;
+import com.spring.restaurantmanagementsystem.enums.ExportFormatEnum;
+import com.spring.restaurantmanagementsystem.service.ExportService;
 import com.spring.restaurantmanagementsystem.service.PaymentService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,15 +21,17 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminPaymentController {
     private final PaymentService paymentService;
+    private final ExportService exportService;
 
-    public AdminPaymentController(PaymentService paymentService) {
+    public AdminPaymentController(PaymentService paymentService, ExportService exportService) {
         this.paymentService = paymentService;
+        this.exportService = exportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<PaymentDto>> getAllPayments() {
-        List<PaymentDto> payments = paymentService.getAllPayments();
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<PaymentDto>> getAllPayments(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<PaymentDto> payments = paymentService.getAllPayments(pageQuery);
+        return CursorPageResponses.ok(payments);
     }
 
     @GetMapping("/{id}")
@@ -39,17 +47,33 @@ public class AdminPaymentController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByStatus(@PathVariable String status) {
-        List<PaymentDto> payments = paymentService.getPaymentsByStatus(status);
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<PaymentDto>> getPaymentsByStatus(@PathVariable String status,
+                                                                @ModelAttribute PageQuery pageQuery) {
+        CursorPage<PaymentDto> payments = paymentService.getPaymentsByStatus(status, pageQuery);
+        return CursorPageResponses.ok(payments);
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<PaymentDto>> getPaymentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<PaymentDto> payments = paymentService.getPaymentsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(payments);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @ModelAttribute PageQuery pageQuery) {
+        CursorPage<PaymentDto> payments = paymentService.getPaymentsByDateRange(startDate, endDate, pageQuery);
+        return CursorPageResponses.ok(payments);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPaymentsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormatEnum exportFormat = exportService.parseFormat(format);
+        StreamingResponseBody body = out -> exportService.exportPayments(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportService.contentType(exportFormat))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payments." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
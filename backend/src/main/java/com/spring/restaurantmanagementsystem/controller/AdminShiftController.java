@@ -1,6 +1,8 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreateShiftRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.ShiftDto;
 import com.spring.restaurantmanagementsystem.dto.UpdateShiftRequest;
 import com.spring.restaurantmanagementsystem.service.ShiftService;
@@ -23,9 +25,9 @@ public class AdminShiftController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ShiftDto>> getAllShifts() {
-        List<ShiftDto> shifts = shiftService.getAllShifts();
-        return ResponseEntity.ok(shifts);
+    public ResponseEntity<List<ShiftDto>> getAllShifts(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<ShiftDto> shifts = shiftService.getAllShifts(pageQuery);
+        return CursorPageResponses.ok(shifts);
     }
 
     @GetMapping("/{id}")
@@ -35,9 +37,10 @@ public class AdminShiftController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ShiftDto>> getShiftsByUserId(@PathVariable Long userId) {
-        List<ShiftDto> shifts = shiftService.getShiftsByUserId(userId);
-        return ResponseEntity.ok(shifts);
+    public ResponseEntity<List<ShiftDto>> getShiftsByUserId(@PathVariable Long userId,
+                                                            @ModelAttribute PageQuery pageQuery) {
+        CursorPage<ShiftDto> shifts = shiftService.getShiftsByUserId(userId, pageQuery);
+        return CursorPageResponses.ok(shifts);
     }
 
     @PostMapping
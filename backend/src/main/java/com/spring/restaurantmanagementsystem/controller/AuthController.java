@@ -3,9 +3,12 @@ package com.spring.restaurantmanagementsystem.controller;
 import com.spring.restaurantmanagementsystem.dto.LoginRequest;
 import com.spring.restaurantmanagementsystem.dto.LoginResponse;
 import com.spring.restaurantmanagementsystem.dto.UserDetailsResponse;
-import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
 import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.LoginThrottle;
+import com.spring.restaurantmanagementsystem.security.UserAccount;
 import com.spring.restaurantmanagementsystem.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -30,15 +33,21 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService,
+                          LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletResponse response, @RequestAttribute(name = "_csrf", required = false) CsrfToken csrfToken) {
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response, @RequestAttribute(name = "_csrf", required = false) CsrfToken csrfToken) {
+        // Throttle before any password is hashed
+        loginThrottle.acquire(loginRequest.username(), request.getRemoteAddr());
+
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         loginRequest.username(),
@@ -47,8 +56,8 @@ public class AuthController {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String username = authentication.getName();
-        String token = jwtService.generateToken(username);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String token = jwtService.generateToken(user);
 
         ResponseCookie jwtCookie = ResponseCookie.from("jwtToken", token)
                 .httpOnly(true)
@@ -77,12 +86,12 @@ public class AuthController {
         // Get the username correctly
         String username = authentication.getName();
 
-        Optional<User> userOptional = userService.findByUsername(username);
+        Optional<UserAccount> userOptional = userService.findByUsername(username);
         if (userOptional.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        User user = userOptional.get();
+        UserAccount user = userOptional.get();
 
         // Extract roles from authorities
         List<String> roles = authentication.getAuthorities().stream()
@@ -90,9 +99,9 @@ public class AuthController {
                 .toList();
 
         UserDetailsResponse response = new UserDetailsResponse(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
+                user.id(),
+                user.username(),
+                user.email(),
                 roles
         );
 
@@ -1,9 +1,12 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreatePaymentRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.PaymentDto;
 import com.spring.restaurantmanagementsystem.dto.UpdatePaymentRequest;
 import com.spring.restaurantmanagementsystem.service.PaymentService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,38 +19,48 @@ import java.util.List;
 @PreAuthorize("hasRole('CASHIER')")
 public class CashierPaymentController {
     private final PaymentService paymentService;
+    private final IdempotencyKeys idempotencyKeys;
 
-    public CashierPaymentController(PaymentService paymentService) {
+    public CashierPaymentController(PaymentService paymentService, IdempotencyKeys idempotencyKeys) {
         this.paymentService = paymentService;
+        this.idempotencyKeys = idempotencyKeys;
     }
 
     @PostMapping
-    public ResponseEntity<PaymentDto> createPayment(@RequestBody CreatePaymentRequest request) {
-        PaymentDto createdPayment = paymentService.createPayment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+    public ResponseEntity<PaymentDto> createPayment(@RequestBody CreatePaymentRequest request,
+                                                    @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(idempotencyKey, "POST /api/cashier/payments", request, () -> {
+            PaymentDto createdPayment = paymentService.createPayment(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<PaymentDto> updatePayment(@PathVariable Long id, @RequestBody UpdatePaymentRequest request) {
-        PaymentDto updatedPayment = paymentService.updatePayment(id, request);
-        return ResponseEntity.ok(updatedPayment);
+    public ResponseEntity<PaymentDto> updatePayment(@PathVariable Long id, @RequestBody UpdatePaymentRequest request,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PaymentDto updatedPayment = paymentService.updatePayment(id, request,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedPayment, updatedPayment.version());
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<PaymentDto> updatePaymentStatus(@PathVariable Long id, @RequestParam String status) {
-        PaymentDto updatedPayment = paymentService.updatePaymentStatus(id, status);
-        return ResponseEntity.ok(updatedPayment);
+    public ResponseEntity<PaymentDto> updatePaymentStatus(@PathVariable Long id, @RequestParam String status,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PaymentDto updatedPayment = paymentService.updatePaymentStatus(id, status,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedPayment, updatedPayment.version());
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByStatus(@PathVariable String status) {
-        List<PaymentDto> payments = paymentService.getPaymentsByStatus(status);
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<PaymentDto>> getPaymentsByStatus(@PathVariable String status,
+                                                                @ModelAttribute PageQuery pageQuery) {
+        CursorPage<PaymentDto> payments = paymentService.getPaymentsByStatus(status, pageQuery);
+        return CursorPageResponses.ok(payments);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<PaymentDto> getPaymentById(@PathVariable Long id) {
         PaymentDto payment = paymentService.getPaymentById(id);
-        return ResponseEntity.ok(payment);
+        return VersionedResponses.ok(payment, payment.version());
     }
 }
@@ -0,0 +1,31 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Builds list responses whose body stays a plain JSON array while the
+ * paging metadata travels in response headers.
+ */
+final class CursorPageResponses {
+    static final String HAS_NEXT = "X-Has-Next";
+    static final String NEXT_AFTER_ID = "X-Next-After-Id";
+    static final String NEXT_AFTER_CREATED_AT = "X-Next-After-Created-At";
+
+    private CursorPageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(HAS_NEXT, String.valueOf(page.hasNext()));
+        if (page.nextAfterId() != null) {
+            builder.header(NEXT_AFTER_ID, page.nextAfterId().toString());
+        }
+        if (page.nextAfterCreatedAt() != null) {
+            builder.header(NEXT_AFTER_CREATED_AT, page.nextAfterCreatedAt().toString());
+        }
+        return builder.body(page.items());
+    }
+}
@@ -0,0 +1,142 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.RetryLaterException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a create request that is retried with the same Idempotency-Key, so
+ * tablets on flaky networks can resend a POST without creating a second order or payment.
+ * Keys are scoped to the user and endpoint, and kept with a SHA-256 fingerprint of the request
+ * body in a size-bounded cache that forgets them after a TTL. A retry that arrives while the
+ * original is still running waits for its response instead of running again. Only successful
+ * responses are kept, so a request that failed runs again when retried.
+ * Hit, miss and eviction counts are published as the "idempotency-keys" cache metrics.
+ */
+@Component
+public class IdempotencyKeys {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String CACHE_NAME = "idempotency-keys";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyKeys(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${app.idempotency.max-size:10000}") long maxSize,
+                           @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                           @Value("${app.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME);
+    }
+
+    /**
+     * @param key The Idempotency-Key header; null runs the action without remembering it.
+     * @param endpoint The method and path of the request, which scope the key together with the user.
+     * @param request The request body, which a retry has to repeat unchanged.
+     * @param action Creates the resource and returns the response.
+     * @return The response of the action, or the one remembered for the key with an Idempotent-Replayed header.
+     */
+    public <T> ResponseEntity<T> execute(String key, String endpoint, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = currentUser() + " " + endpoint + " " + key;
+        Entry entry = new Entry(fingerprint(request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, entry);
+        if (existing != null) {
+            return replay(existing, entry.fingerprint(), key);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(scopedKey, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry existing, byte[] fingerprint, String key) {
+        if (!MessageDigest.isEqual(existing.fingerprint(), fingerprint)) {
+            throw new ConflictException(HEADER + " " + key + " was already used for a different request");
+        }
+
+        ResponseEntity<?> original;
+        try {
+            original = existing.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RetryLaterException(HttpStatus.CONFLICT, RETRY_AFTER,
+                    "A request with " + HEADER + " " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetryLaterException(HttpStatus.CONFLICT, RETRY_AFTER,
+                    "A request with " + HEADER + " " + key + " is still in progress");
+        } catch (ExecutionException e) {
+            // The original failed and is forgotten; this retry reports the same failure
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body((T) original.getBody());
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(byte[] fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.KitchenItem;
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
+import com.spring.restaurantmanagementsystem.service.KitchenService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/kitchen")
+public class KitchenController {
+    private final KitchenService kitchenService;
+
+    public KitchenController(KitchenService kitchenService) {
+        this.kitchenService = kitchenService;
+    }
+
+    @GetMapping("/stations/{station}")
+    public ResponseEntity<List<KitchenItem>> getStationItems(@PathVariable String station) {
+        List<KitchenItem> items = kitchenService.getStationItems(station);
+        return ResponseEntity.ok(items);
+    }
+
+    // New, changed and removed items of the station as they commit; screens resume after Last-Event-ID on reconnect
+    @GetMapping(value = "/stations/{station}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStationEvents(@PathVariable String station,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return kitchenService.subscribeToStation(station, lastEventId);
+    }
+
+    @PostMapping("/items/{itemId}/claim")
+    public ResponseEntity<KitchenItem> claimItem(@PathVariable Long itemId,
+                                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        KitchenItem item = kitchenService.claimItem(itemId, user.getId());
+        return ResponseEntity.ok(item);
+    }
+
+    @PostMapping("/items/{itemId}/bump")
+    public ResponseEntity<KitchenItem> bumpItem(@PathVariable Long itemId) {
+        KitchenItem item = kitchenService.bumpItem(itemId);
+        return ResponseEntity.ok(item);
+    }
+}
@@ -1,7 +1,9 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreateMenuItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
 import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateMenuItemRequest;
 import com.spring.restaurantmanagementsystem.service.MenuItemService;
 import org.springframework.http.HttpStatus;
@@ -22,9 +24,9 @@ public class MenuItemController {
     }
 
     @GetMapping
-    public ResponseEntity<List<MenuItemDto>> getAllMenuItems() {
-        List<MenuItemDto> menuItems = menuItemService.getAllMenuItems();
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<List<MenuItemDto>> getAllMenuItems(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<MenuItemDto> menuItems = menuItemService.getMenuItems(pageQuery);
+        return CursorPageResponses.ok(menuItems);
     }
 
     @GetMapping("/{id}")
@@ -1,13 +1,19 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
 import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateOrderRequest;
+import com.spring.restaurantmanagementsystem.enums.ExportFormatEnum;
+import com.spring.restaurantmanagementsystem.service.ExportService;
 import com.spring.restaurantmanagementsystem.service.OrderService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,59 +22,85 @@ import java.util.List;
 @RequestMapping("/api/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final ExportService exportService;
+    private final IdempotencyKeys idempotencyKeys;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ExportService exportService, IdempotencyKeys idempotencyKeys) {
         this.orderService = orderService;
+        this.exportService = exportService;
+        this.idempotencyKeys = idempotencyKeys;
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderDto>> getAllOrders() {
-        List<OrderDto> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDto>> getAllOrders(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderDto> orders = orderService.getAllOrders(pageQuery);
+        return CursorPageResponses.ok(orders);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id) {
         OrderDto order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+        return VersionedResponses.ok(order, order.version());
     }
 
     @GetMapping("/table/{tableId}")
-    public ResponseEntity<List<OrderDto>> getOrdersByTableId(@PathVariable Long tableId) {
-        List<OrderDto> orders = orderService.getOrdersByTableId(tableId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDto>> getOrdersByTableId(@PathVariable Long tableId,
+                                                             @ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderDto> orders = orderService.getOrdersByTableId(tableId, pageQuery);
+        return CursorPageResponses.ok(orders);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDto>> getOrdersByUserId(@PathVariable Long userId) {
-        List<OrderDto> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDto>> getOrdersByUserId(@PathVariable Long userId,
+                                                            @ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderDto> orders = orderService.getOrdersByUserId(userId, pageQuery);
+        return CursorPageResponses.ok(orders);
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<OrderDto>> getOrdersByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<OrderDto> orders = orderService.getOrdersByDateRange(startDate, endDate);
-        return ResponseEntity.ok(orders);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderDto> orders = orderService.getOrdersByDateRange(startDate, endDate, pageQuery);
+        return CursorPageResponses.ok(orders);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormatEnum exportFormat = exportService.parseFormat(format);
+        StreamingResponseBody body = out -> exportService.exportOrders(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportService.contentType(exportFormat))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
     }
 
     @PostMapping
-    public ResponseEntity<OrderDto> createOrder(@RequestBody CreateOrderRequest request) {
-        OrderDto createdOrder = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    public ResponseEntity<OrderDto> createOrder(@RequestBody CreateOrderRequest request,
+                                                @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(idempotencyKey, "POST /api/orders", request, () -> {
+            OrderDto createdOrder = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id, @RequestBody UpdateOrderRequest request) {
-        OrderDto updatedOrder = orderService.updateOrder(id, request);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id, @RequestBody UpdateOrderRequest request,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderDto updatedOrder = orderService.updateOrder(id, request, VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedOrder, updatedOrder.version());
     }
 
     @PatchMapping("/{id}/state")
-    public ResponseEntity<OrderDto> updateOrderState(@PathVariable Long id, @RequestParam String state) {
-        OrderDto updatedOrder = orderService.updateOrderState(id, state);
-        return ResponseEntity.ok(updatedOrder);
+    public ResponseEntity<OrderDto> updateOrderState(@PathVariable Long id, @RequestParam String state,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderDto updatedOrder = orderService.updateOrderState(id, state, VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedOrder, updatedOrder.version());
     }
 
     @DeleteMapping("/{id}")
@@ -1,7 +1,9 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
 import com.spring.restaurantmanagementsystem.dto.OrderItemDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateOrderItemRequest;
 import com.spring.restaurantmanagementsystem.service.OrderItemService;
 import org.springframework.http.HttpStatus;
@@ -14,15 +16,17 @@ import java.util.List;
 @RequestMapping("/api/order-items")
 public class OrderItemController {
     private final OrderItemService orderItemService;
+    private final IdempotencyKeys idempotencyKeys;
 
-    public OrderItemController(OrderItemService orderItemService) {
+    public OrderItemController(OrderItemService orderItemService, IdempotencyKeys idempotencyKeys) {
         this.orderItemService = orderItemService;
+        this.idempotencyKeys = idempotencyKeys;
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderItemDto>> getAllOrderItems() {
-        List<OrderItemDto> orderItems = orderItemService.getAllOrderItems();
-        return ResponseEntity.ok(orderItems);
+    public ResponseEntity<List<OrderItemDto>> getAllOrderItems(@ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderItemDto> orderItems = orderItemService.getAllOrderItems(pageQuery);
+        return CursorPageResponses.ok(orderItems);
     }
 
     @GetMapping("/{id}")
@@ -38,15 +42,19 @@ public class OrderItemController {
     }
 
     @GetMapping("/menu-item/{menuItemId}")
-    public ResponseEntity<List<OrderItemDto>> getOrderItemsByMenuItemId(@PathVariable Long menuItemId) {
-        List<OrderItemDto> orderItems = orderItemService.getOrderItemsByMenuItemId(menuItemId);
-        return ResponseEntity.ok(orderItems);
+    public ResponseEntity<List<OrderItemDto>> getOrderItemsByMenuItemId(@PathVariable Long menuItemId,
+                                                                        @ModelAttribute PageQuery pageQuery) {
+        CursorPage<OrderItemDto> orderItems = orderItemService.getOrderItemsByMenuItemId(menuItemId, pageQuery);
+        return CursorPageResponses.ok(orderItems);
     }
 
     @PostMapping("/order/{orderId}")
-    public ResponseEntity<OrderItemDto> createOrderItem(@PathVariable Long orderId, @RequestBody CreateOrderItemRequest request) {
-        OrderItemDto createdOrderItem = orderItemService.createOrderItem(orderId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrderItem);
+    public ResponseEntity<OrderItemDto> createOrderItem(@PathVariable Long orderId, @RequestBody CreateOrderItemRequest request,
+                                                        @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(idempotencyKey, "POST /api/order-items/order/" + orderId, request, () -> {
+            OrderItemDto createdOrderItem = orderItemService.createOrderItem(orderId, request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrderItem);
+        });
     }
 
     @PutMapping("/{id}")
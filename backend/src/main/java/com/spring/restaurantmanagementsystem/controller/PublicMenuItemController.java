@@ -1,7 +1,9 @@
 package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.MenuSnapshot;
 import com.spring.restaurantmanagementsystem.service.MenuItemService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,9 +18,19 @@ public class PublicMenuItemController {
         this.menuItemService = menuItemService;
     }
 
+    // Serves the JSON rendered at snapshot time; no serialization happens per request
     @GetMapping
-    public ResponseEntity<List<MenuItemDto>> getAllMenuItems() {
-        List<MenuItemDto> menuItems = menuItemService.getAllMenuItems();
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuSnapshot menu = menuItemService.getMenuSnapshot();
+        return RenderedJsonResponses.ok(menu.json(), acceptEncoding);
+    }
+
+    @GetMapping("/safe")
+    public ResponseEntity<List<MenuItemDto>> getAllergenSafeMenuItems(
+            @RequestParam(defaultValue = "") List<String> exclude,
+            @RequestParam(required = false) String category) {
+        List<MenuItemDto> menuItems = menuItemService.getAllergenSafeMenuItems(exclude, category);
         return ResponseEntity.ok(menuItems);
     }
 
@@ -29,8 +41,10 @@ public class PublicMenuItemController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<MenuItemDto>> getMenuItemsByCategory(@PathVariable String category) {
-        List<MenuItemDto> menuItems = menuItemService.getMenuItemsByCategory(category);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getMenuItemsByCategory(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuSnapshot menu = menuItemService.getMenuSnapshot();
+        return RenderedJsonResponses.ok(menu.jsonIn(menuItemService.parseCategory(category)), acceptEncoding);
     }
 }
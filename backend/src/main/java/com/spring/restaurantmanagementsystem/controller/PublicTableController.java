@@ -1,9 +1,17 @@
 package com.spring.restaurantmanagementsystem.controller;
 
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
 import com.spring.restaurantmanagementsystem.dto.RestaurantTableDto;
+import com.spring.restaurantmanagementsystem.dto.SeatTableRequest;
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+import com.spring.restaurantmanagementsystem.service.FloorEventStream;
 import com.spring.restaurantmanagementsystem.service.RestaurantTableService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -11,9 +19,11 @@ import java.util.List;
 @RequestMapping("/api/tables")
 public class PublicTableController {
     private final RestaurantTableService restaurantTableService;
+    private final FloorEventStream floorEventStream;
 
-    public PublicTableController(RestaurantTableService restaurantTableService) {
+    public PublicTableController(RestaurantTableService restaurantTableService, FloorEventStream floorEventStream) {
         this.restaurantTableService = restaurantTableService;
+        this.floorEventStream = floorEventStream;
     }
 
     @GetMapping
@@ -22,10 +32,23 @@ public class PublicTableController {
         return ResponseEntity.ok(tables);
     }
 
+    // Floor plan changes after the given board version; no version, or an unknown one, returns the whole board
+    @GetMapping("/board")
+    public ResponseEntity<TableBoardChanges> getTableBoardChanges(@RequestParam(required = false) String since) {
+        TableBoardChanges changes = restaurantTableService.getTableBoardChanges(since);
+        return ResponseEntity.ok(changes);
+    }
+
+    // Table and order state changes as they commit; EventSource clients resume after Last-Event-ID on reconnect
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFloorEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return floorEventStream.subscribe(lastEventId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RestaurantTableDto> getTableById(@PathVariable Long id) {
         RestaurantTableDto table = restaurantTableService.getTableById(id);
-        return ResponseEntity.ok(table);
+        return VersionedResponses.ok(table, table.version());
     }
 
     @GetMapping("/number/{number}")
@@ -41,14 +64,24 @@ public class PublicTableController {
     }
 
     @PatchMapping("/{id}/state")
-    public ResponseEntity<RestaurantTableDto> updateTableState(@PathVariable Long id, @RequestParam String state) {
-        RestaurantTableDto updatedTable = restaurantTableService.updateTableState(id, state);
-        return ResponseEntity.ok(updatedTable);
+    public ResponseEntity<RestaurantTableDto> updateTableState(@PathVariable Long id, @RequestParam String state,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RestaurantTableDto updatedTable = restaurantTableService.updateTableState(id, state,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedTable, updatedTable.version());
+    }
+
+    @PostMapping("/{id}/seat")
+    public ResponseEntity<OrderDto> seatTable(@PathVariable Long id, @RequestBody SeatTableRequest request) {
+        OrderDto createdOrder = restaurantTableService.seatTable(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
     @PatchMapping("/{tableId}/assign-order/{orderId}")
-    public ResponseEntity<RestaurantTableDto> assignOrderToTable(@PathVariable Long tableId, @PathVariable Long orderId) {
-        RestaurantTableDto updatedTable = restaurantTableService.assignOrderToTable(tableId, orderId);
-        return ResponseEntity.ok(updatedTable);
+    public ResponseEntity<RestaurantTableDto> assignOrderToTable(@PathVariable Long tableId, @PathVariable Long orderId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RestaurantTableDto updatedTable = restaurantTableService.assignOrderToTable(tableId, orderId,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedTable, updatedTable.version());
     }
 }
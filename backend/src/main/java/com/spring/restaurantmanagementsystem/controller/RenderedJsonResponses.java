@@ -0,0 +1,68 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.dto.RenderedJson;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Writes pre-rendered JSON straight to the response, picking the pre-compressed
+ * variant the client accepts. Each encoding carries its own strong ETag, and Spring
+ * answers a matching If-None-Match with 304 before any bytes are written.
+ */
+final class RenderedJsonResponses {
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private RenderedJsonResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(RenderedJson json, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (accepts(acceptEncoding, GZIP)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .eTag(variantEtag(json.etag(), "gz"))
+                    .body(json.gzip());
+        }
+        if (accepts(acceptEncoding, DEFLATE)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, DEFLATE)
+                    .eTag(variantEtag(json.etag(), "df"))
+                    .body(json.deflate());
+        }
+        return builder.eTag(json.etag()).body(json.identity());
+    }
+
+    // Helper method to check an Accept-Encoding header for a coding that is not refused with q=0
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String variantEtag(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+}
@@ -4,6 +4,7 @@ import com.spring.restaurantmanagementsystem.dto.CreateRestaurantTableRequest;
 import com.spring.restaurantmanagementsystem.dto.RestaurantTableDto;
 import com.spring.restaurantmanagementsystem.dto.UpdateRestaurantTableRequest;
 import com.spring.restaurantmanagementsystem.service.RestaurantTableService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,7 +31,7 @@ public class RestaurantTableController {
     @GetMapping("/{id}")
     public ResponseEntity<RestaurantTableDto> getTableById(@PathVariable Long id) {
         RestaurantTableDto table = restaurantTableService.getTableById(id);
-        return ResponseEntity.ok(table);
+        return VersionedResponses.ok(table, table.version());
     }
 
     @GetMapping("/number/{number}")
@@ -52,21 +53,27 @@ public class RestaurantTableController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<RestaurantTableDto> updateTable(@PathVariable Long id, @RequestBody UpdateRestaurantTableRequest request) {
-        RestaurantTableDto updatedTable = restaurantTableService.updateTable(id, request);
-        return ResponseEntity.ok(updatedTable);
+    public ResponseEntity<RestaurantTableDto> updateTable(@PathVariable Long id, @RequestBody UpdateRestaurantTableRequest request,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RestaurantTableDto updatedTable = restaurantTableService.updateTable(id, request,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedTable, updatedTable.version());
     }
 
     @PatchMapping("/{id}/state")
-    public ResponseEntity<RestaurantTableDto> updateTableState(@PathVariable Long id, @RequestParam String state) {
-        RestaurantTableDto updatedTable = restaurantTableService.updateTableState(id, state);
-        return ResponseEntity.ok(updatedTable);
+    public ResponseEntity<RestaurantTableDto> updateTableState(@PathVariable Long id, @RequestParam String state,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RestaurantTableDto updatedTable = restaurantTableService.updateTableState(id, state,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedTable, updatedTable.version());
     }
 
     @PatchMapping("/{tableId}/assign-order/{orderId}")
-    public ResponseEntity<RestaurantTableDto> assignOrderToTable(@PathVariable Long tableId, @PathVariable Long orderId) {
-        RestaurantTableDto updatedTable = restaurantTableService.assignOrderToTable(tableId, orderId);
-        return ResponseEntity.ok(updatedTable);
+    public ResponseEntity<RestaurantTableDto> assignOrderToTable(@PathVariable Long tableId, @PathVariable Long orderId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RestaurantTableDto updatedTable = restaurantTableService.assignOrderToTable(tableId, orderId,
+                VersionedResponses.expectedVersion(ifMatch));
+        return VersionedResponses.ok(updatedTable, updatedTable.version());
     }
 
     @DeleteMapping("/{id}")
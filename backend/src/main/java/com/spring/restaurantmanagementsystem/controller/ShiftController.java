@@ -1,7 +1,9 @@
 package com.spring.restaurantmanagementsystem.controller;
 
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.ShiftDto;
-import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.security.UserAccount;
 import com.spring.restaurantmanagementsystem.service.ShiftService;
 import com.spring.restaurantmanagementsystem.service.UserService;
 import org.springframework.http.ResponseEntity;
@@ -26,13 +28,13 @@ public class ShiftController {
     }
 
     @GetMapping("/my-shifts")
-    public ResponseEntity<List<ShiftDto>> getMyShifts() {
+    public ResponseEntity<List<ShiftDto>> getMyShifts(@ModelAttribute PageQuery pageQuery) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
 
-        User user = userService.findByUsername(username)
+        UserAccount user = userService.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        List<ShiftDto> shifts = shiftService.getShiftsByUserId(user.getId());
-        return ResponseEntity.ok(shifts);
+        CursorPage<ShiftDto> shifts = shiftService.getShiftsByUserId(user.id(), pageQuery);
+        return CursorPageResponses.ok(shifts);
     }
 }
@@ -0,0 +1,40 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.spring.restaurantmanagementsystem.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps the optimistic lock version of orders, tables and payments to HTTP validators:
+ * responses carry it as a strong ETag, and writes sent with If-Match only apply if it is
+ * still the current version. Writes without If-Match stay unconditional.
+ */
+final class VersionedResponses {
+
+    private VersionedResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        return ResponseEntity.ok().eTag(String.valueOf(version)).body(body);
+    }
+
+    /**
+     * @param ifMatch The If-Match header, or null if absent.
+     * @return The version the client expects, or null when any version will do.
+     * @throws PreconditionFailedException If the header names no version this API hands out.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        // Weak validators never match for If-Match, and lists are not supported
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag, got: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.spring.restaurantmanagementsystem.enums.AllergenEnum;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Bitset index over a fixed list of menu items: one bitset per allergen marking the
+ * positions of the items that contain it, built from the stored allergen mask of each item.
+ * Finding the items free of a set of allergens is an OR over those bitsets followed by a
+ * scan of the clear bits.
+ */
+public final class AllergenIndex {
+    private final List<MenuItemDto> items;
+    private final BitSet[] itemsByAllergen;
+
+    private AllergenIndex(List<MenuItemDto> items, BitSet[] itemsByAllergen) {
+        this.items = items;
+        this.itemsByAllergen = itemsByAllergen;
+    }
+
+    public static AllergenIndex of(List<MenuItemDto> items) {
+        BitSet[] itemsByAllergen = new BitSet[AllergenEnum.values().length];
+        for (int a = 0; a < itemsByAllergen.length; a++) {
+            itemsByAllergen[a] = new BitSet(items.size());
+        }
+        for (int i = 0; i < items.size(); i++) {
+            for (int mask = items.get(i).allergenMask(); mask != 0; mask &= mask - 1) {
+                itemsByAllergen[Integer.numberOfTrailingZeros(mask)].set(i);
+            }
+        }
+        return new AllergenIndex(List.copyOf(items), itemsByAllergen);
+    }
+
+    public List<MenuItemDto> itemsWithout(int excludedMask) {
+        if (excludedMask == 0) {
+            return items;
+        }
+        BitSet unsafe = new BitSet(items.size());
+        for (AllergenEnum allergen : AllergenEnum.values()) {
+            if ((excludedMask & allergen.bit()) != 0) {
+                unsafe.or(itemsByAllergen[allergen.ordinal()]);
+            }
+        }
+        List<MenuItemDto> safe = new ArrayList<>(items.size() - unsafe.cardinality());
+        for (int i = unsafe.nextClearBit(0); i < items.size(); i = unsafe.nextClearBit(i + 1)) {
+            safe.add(items.get(i));
+        }
+        return safe;
+    }
+}
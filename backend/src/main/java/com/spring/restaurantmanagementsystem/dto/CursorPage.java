@@ -0,0 +1,28 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint together with the keyset cursor of the next page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        boolean hasNext,
+        Long nextAfterId,
+        LocalDateTime nextAfterCreatedAt
+) {
+    public static <T> CursorPage<T> of(List<T> items, boolean hasNext, Function<T, Long> idOf) {
+        return of(items, hasNext, idOf, item -> null);
+    }
+
+    public static <T> CursorPage<T> of(List<T> items, boolean hasNext,
+                                       Function<T, Long> idOf, Function<T, LocalDateTime> createdAtOf) {
+        if (!hasNext || items.isEmpty()) {
+            return new CursorPage<>(items, false, null, null);
+        }
+        T last = items.get(items.size() - 1);
+        return new CursorPage<>(items, true, idOf.apply(last), createdAtOf.apply(last));
+    }
+}
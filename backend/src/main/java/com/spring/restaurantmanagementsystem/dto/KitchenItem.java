@@ -0,0 +1,23 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order item on a kitchen station screen. Items are ordered by the age of their ticket,
+ * orderedAt being the time the order was taken, and within a ticket by course.
+ * claimedBy is the user id of the cook working on the item, null while it is queued.
+ */
+public record KitchenItem(
+        Long itemId,
+        Long orderId,
+        Long tableId,
+        Long menuItemId,
+        String menuItemName,
+        Integer quantity,
+        String station,
+        int course,
+        String kitchenState,
+        Long claimedBy,
+        LocalDateTime orderedAt
+) {
+}
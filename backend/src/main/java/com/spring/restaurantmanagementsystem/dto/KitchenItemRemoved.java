@@ -0,0 +1,8 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+/**
+ * Tells a station screen that an item left its queue: bumped, deleted, or its order was
+ * cancelled or moved on without it.
+ */
+public record KitchenItemRemoved(Long itemId, Long orderId) {
+}
@@ -1,5 +1,7 @@
 package com.spring.restaurantmanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 import java.util.Set;
 
@@ -9,6 +11,8 @@ public record MenuItemDto(
         String description,
         Set<String> allergens,
         BigDecimal price,
-        String category
+        String category,
+        // The stored allergen_mask of the item, which the allergen index is built from; not part of the JSON
+        @JsonIgnore int allergenMask
 ) {
 }
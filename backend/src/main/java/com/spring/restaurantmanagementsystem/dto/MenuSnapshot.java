@@ -0,0 +1,33 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the whole menu as of one rebuild, as DTOs, as rendered JSON and as
+ * allergen indexes, for the full menu and every category. ETags are derived from the content, so they stay
+ * stable across rebuilds and restarts as long as the menu itself does not change.
+ */
+public record MenuSnapshot(
+        long version,
+        List<MenuItemDto> items,
+        Map<CategoryEnum, List<MenuItemDto>> itemsByCategory,
+        RenderedJson json,
+        Map<CategoryEnum, RenderedJson> jsonByCategory,
+        AllergenIndex allergenIndex,
+        Map<CategoryEnum, AllergenIndex> allergenIndexByCategory
+) {
+    public List<MenuItemDto> itemsIn(CategoryEnum category) {
+        return itemsByCategory.getOrDefault(category, List.of());
+    }
+
+    public RenderedJson jsonIn(CategoryEnum category) {
+        return jsonByCategory.get(category);
+    }
+
+    public AllergenIndex allergenIndexIn(CategoryEnum category) {
+        return allergenIndexByCategory.get(category);
+    }
+}
@@ -13,6 +13,7 @@ public record OrderDto(
         List<OrderItemDto> orderItems,
         BigDecimal totalAmount,
         String orderState,
-        Integer customerCount
+        Integer customerCount,
+        Long version
 ) {
 }
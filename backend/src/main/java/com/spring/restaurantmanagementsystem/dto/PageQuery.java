@@ -0,0 +1,78 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Paging parameters accepted by the list endpoints.
+ * Either an offset page or a keyset cursor (afterId, plus afterCreatedAt for
+ * time-ordered resources) can be given; the cursor takes precedence.
+ * Time-ordered resources are listed newest first, all others by ascending id.
+ */
+public record PageQuery(
+        Integer page,
+        Integer size,
+        Long afterId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime afterCreatedAt
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public static final Sort BY_ID = Sort.by("id");
+    public static final Sort BY_CREATED_AT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    public static PageQuery firstPage(int size) {
+        return new PageQuery(0, size, null, null);
+    }
+
+    public int pageSize() {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public Limit limit() {
+        return Limit.of(pageSize());
+    }
+
+    // Position for resources ordered by id only
+    public ScrollPosition positionById() {
+        if (afterId != null) {
+            return ScrollPosition.forward(Map.of("id", afterId));
+        }
+        return offsetPosition();
+    }
+
+    // Position for resources ordered by creation time, with the id as tie-breaker
+    public ScrollPosition positionByCreatedAt() {
+        if (afterId != null || afterCreatedAt != null) {
+            if (afterId == null || afterCreatedAt == null) {
+                throw new IllegalArgumentException("afterId and afterCreatedAt must be provided together");
+            }
+            return ScrollPosition.forward(Map.of("createdAt", afterCreatedAt, "id", afterId));
+        }
+        return offsetPosition();
+    }
+
+    private ScrollPosition offsetPosition() {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must not be negative: " + page);
+        }
+        if (pageNumber == 0) {
+            return ScrollPosition.keyset();
+        }
+        // An offset position points at the last element already consumed
+        return ScrollPosition.offset((long) pageNumber * pageSize() - 1);
+    }
+}
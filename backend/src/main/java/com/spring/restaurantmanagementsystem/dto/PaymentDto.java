@@ -9,6 +9,7 @@ public record PaymentDto(
         String paymentMethod,
         String paymentStatus,
         Long orderId,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Long version
 ) {
 }
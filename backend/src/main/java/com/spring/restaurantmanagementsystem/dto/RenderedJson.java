@@ -0,0 +1,14 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+/**
+ * A JSON document rendered once and kept as ready-to-send bytes, together with
+ * pre-compressed variants and a strong ETag derived from the uncompressed content.
+ * The arrays are never modified after construction.
+ */
+public record RenderedJson(
+        String etag,
+        byte[] identity,
+        byte[] gzip,
+        byte[] deflate
+) {
+}
@@ -4,6 +4,7 @@ public record RestaurantTableDto(
         Long id,
         Integer number,
         Long currentOrderId,
-        String tableState
+        String tableState,
+        Long version
 ) {
 }
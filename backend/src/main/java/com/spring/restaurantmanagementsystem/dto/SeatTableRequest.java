@@ -0,0 +1,10 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.List;
+
+public record SeatTableRequest(
+        Long userId,
+        Integer customerCount,
+        List<CreateOrderItemRequest> orderItems
+) {
+}
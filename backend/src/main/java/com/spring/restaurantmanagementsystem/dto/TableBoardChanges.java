@@ -0,0 +1,17 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * The floor plan entries that changed after the version a client last saw, and the numbers of
+ * the tables removed since. version is an opaque token to send as since on the next request.
+ * When full is true the client's version was unknown, for example from before a restart, and
+ * tables holds the whole board instead.
+ */
+public record TableBoardChanges(
+        String version,
+        boolean full,
+        List<TableBoardEntry> tables,
+        List<Integer> removedNumbers
+) {
+}
@@ -0,0 +1,21 @@
+package com.spring.restaurantmanagementsystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One table on the floor plan. The open total and seated time come from the order currently
+ * at the table and are null while there is none, or once it is paid or cancelled.
+ * boardVersion is the board version at which this entry last changed.
+ */
+public record TableBoardEntry(
+        Long tableId,
+        Integer number,
+        String tableState,
+        Long currentOrderId,
+        BigDecimal openTotal,
+        LocalDateTime seatedAt,
+        Long version,
+        long boardVersion
+) {
+}
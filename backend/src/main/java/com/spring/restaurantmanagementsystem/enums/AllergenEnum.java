@@ -1,5 +1,7 @@
 package com.spring.restaurantmanagementsystem.enums;
 
+import java.util.Collection;
+
 public enum AllergenEnum {
     GLUTEN,
     DAIRY,
@@ -14,5 +16,18 @@ public enum AllergenEnum {
     MUSTARD,
     CELERY,
     LUPIN,
-    MOLLUSKS
+    MOLLUSKS;
+
+    // Bit of this allergen in an allergen mask; new values must only ever be appended
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int maskOf(Collection<AllergenEnum> allergens) {
+        int mask = 0;
+        for (AllergenEnum allergen : allergens) {
+            mask |= allergen.bit();
+        }
+        return mask;
+    }
 }
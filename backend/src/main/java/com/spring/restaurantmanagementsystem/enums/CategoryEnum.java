@@ -5,5 +5,15 @@ public enum CategoryEnum {
     MAIN,
     DESSERT,
     BEVERAGE,
-    ADDITIONAL
+    ADDITIONAL;
+
+    // The course the kitchen fires items of this category in; lower courses go out first
+    public int course() {
+        return switch (this) {
+            case BEVERAGE -> 0;
+            case STARTER -> 1;
+            case MAIN, ADDITIONAL -> 2;
+            case DESSERT -> 3;
+        };
+    }
 }
@@ -0,0 +1,6 @@
+package com.spring.restaurantmanagementsystem.enums;
+
+public enum ExportFormatEnum {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.enums;
+
+/**
+ * Progress of an order item at its kitchen station: QUEUED until a cook claims it, CLAIMED
+ * while it is prepared and BUMPED once it is done and leaves the station screen.
+ */
+public enum KitchenStateEnum {
+    QUEUED,
+    CLAIMED,
+    BUMPED
+}
@@ -0,0 +1,21 @@
+package com.spring.restaurantmanagementsystem.enums;
+
+/**
+ * Kitchen stations, each with its own queue and screen. Order items are routed to a station
+ * by the category of their menu item.
+ */
+public enum KitchenStationEnum {
+    BAR,
+    COLD,
+    HOT,
+    PASS;
+
+    public static KitchenStationEnum forCategory(CategoryEnum category) {
+        return switch (category) {
+            case BEVERAGE -> BAR;
+            case STARTER -> COLD;
+            case MAIN, ADDITIONAL -> HOT;
+            case DESSERT -> PASS;
+        };
+    }
+}
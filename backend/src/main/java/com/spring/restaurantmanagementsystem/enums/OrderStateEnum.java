@@ -1,10 +1,41 @@
 package com.spring.restaurantmanagementsystem.enums;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Order lifecycle. Orders move through the kitchen one step at a time
+ * (PENDING, PREPARING, READY, SERVED, PAID) and can be cancelled at any point
+ * before they are paid. PAID and CANCELLED are final.
+ */
 public enum OrderStateEnum {
     PENDING,
     PREPARING,
     READY,
     SERVED,
     PAID,
-    CANCELLED
+    CANCELLED;
+
+    public Set<OrderStateEnum> nextStates() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PREPARING, CANCELLED);
+            case PREPARING -> EnumSet.of(READY, CANCELLED);
+            case READY -> EnumSet.of(SERVED, CANCELLED);
+            case SERVED -> EnumSet.of(PAID, CANCELLED);
+            case PAID, CANCELLED -> EnumSet.noneOf(OrderStateEnum.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStateEnum target) {
+        return nextStates().contains(target);
+    }
+
+    // The states an order has to be in to move to this one
+    public Set<OrderStateEnum> previousStates() {
+        return Arrays.stream(values())
+                .filter(state -> state.canTransitionTo(this))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(OrderStateEnum.class)));
+    }
 }
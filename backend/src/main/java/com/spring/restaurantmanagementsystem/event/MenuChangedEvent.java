@@ -0,0 +1,8 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published whenever a menu item is created, updated or deleted.
+ * Listeners act on it only after the surrounding transaction commits.
+ */
+public record MenuChangedEvent(Long menuItemId) {
+}
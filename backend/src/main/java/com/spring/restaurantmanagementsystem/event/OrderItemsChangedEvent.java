@@ -0,0 +1,9 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published whenever the items of an order, their kitchen progress, or the order state that
+ * decides whether the kitchen works on them, change. Listeners act on it only after the
+ * surrounding transaction commits.
+ */
+public record OrderItemsChangedEvent(Long orderId) {
+}
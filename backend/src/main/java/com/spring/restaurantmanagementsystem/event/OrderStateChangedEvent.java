@@ -0,0 +1,8 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published whenever an order moves to another state, with the state and version it moved to.
+ * Listeners act on it only after the surrounding transaction commits.
+ */
+public record OrderStateChangedEvent(Long orderId, Long tableId, String orderState, Long version) {
+}
@@ -0,0 +1,10 @@
+package com.spring.restaurantmanagementsystem.event;
+
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+
+/**
+ * Published by the table board each time it installs a new version, with the entries that
+ * changed and the table numbers removed by that version alone. The change is already committed.
+ */
+public record TableBoardChangedEvent(TableBoardChanges changes) {
+}
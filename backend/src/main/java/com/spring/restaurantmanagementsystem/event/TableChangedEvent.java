@@ -0,0 +1,8 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published whenever a table, or the open order seated at it, is created, updated or deleted.
+ * Listeners act on it only after the surrounding transaction commits.
+ */
+public record TableChangedEvent(Long tableId) {
+}
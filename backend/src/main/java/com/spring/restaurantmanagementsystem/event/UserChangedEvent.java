@@ -0,0 +1,14 @@
+package com.spring.restaurantmanagementsystem.event;
+
+/**
+ * Published whenever a user's credentials, roles or identity change or the user is deleted.
+ * Listeners act on it only after the surrounding transaction commits.
+ * Carries the username from before and after the change, so caches keyed by username evict by key.
+ */
+public record UserChangedEvent(Long userId, String username, String previousUsername) {
+
+    // A change that kept the username
+    public UserChangedEvent(Long userId, String username) {
+        this(userId, username, username);
+    }
+}
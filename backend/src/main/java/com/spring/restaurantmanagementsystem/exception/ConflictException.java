@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+/**
+ * Signals that a request conflicts with the current state of a resource, for example an illegal
+ * order state transition or one that lost a race with a concurrent update. Rendered as 409.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+/**
+ * Signals that a conditional write was based on a stale copy of a resource: the If-Match
+ * version sent by the client is no longer the current one. Rendered as 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
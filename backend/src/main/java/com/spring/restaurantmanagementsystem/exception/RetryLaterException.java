@@ -0,0 +1,22 @@
+package com.spring.restaurantmanagementsystem.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Signals that a request was turned away to protect the service and may be retried
+ * after the given delay. Rendered with the given status and a Retry-After header.
+ */
+@Getter
+public class RetryLaterException extends RuntimeException {
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public RetryLaterException(HttpStatus status, Duration retryAfter, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
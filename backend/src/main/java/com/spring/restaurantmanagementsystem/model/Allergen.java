@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.AllergenEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -14,7 +15,9 @@ import lombok.Setter;
 public class Allergen {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "allergens_seq")
+    @SequenceGenerator(name = "allergens_seq", sequenceName = "allergens_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
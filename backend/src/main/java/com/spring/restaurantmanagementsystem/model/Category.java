@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -12,7 +13,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
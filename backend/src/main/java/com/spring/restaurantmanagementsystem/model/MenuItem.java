@@ -1,7 +1,9 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,7 +19,9 @@ import java.util.Set;
 @NoArgsConstructor
 public class MenuItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -34,6 +38,11 @@ public class MenuItem {
     )
     private Set<Allergen> allergens = new HashSet<>();
 
+    // One bit per AllergenEnum ordinal, kept in sync with allergens
+    @Column(name = "allergen_mask", nullable = false)
+    @ColumnDefault("0")
+    private int allergenMask;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
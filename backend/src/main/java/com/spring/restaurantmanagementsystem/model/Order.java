@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -19,7 +20,9 @@ import java.util.List;
 @NoArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "table_id", nullable = false)
@@ -48,4 +51,9 @@ public class Order {
 
     @Column(name = "customer_count", nullable = false)
     private Integer customerCount;
+
+    // Optimistic lock, incremented on every update and exposed to clients as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -1,6 +1,9 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.enums.KitchenStateEnum;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -13,13 +16,20 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    // Read-only copy of the foreign key, so derived queries on orderId use order_id without joining orders
+    @Setter(AccessLevel.NONE)
+    @Column(name = "order_id", insertable = false, updatable = false)
+    private Long orderId;
+
     @Column(name = "menu_item_id", nullable = false)
     private Long menuItemId;
 
@@ -32,6 +42,15 @@ public class OrderItem {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal subtotal;
 
+    // Progress at the kitchen station; changed only by conditional updates in OrderItemRepository
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kitchen_state", nullable = false)
+    private KitchenStateEnum kitchenState = KitchenStateEnum.QUEUED;
+
+    // The cook who claimed the item
+    @Column(name = "claimed_by")
+    private Long claimedBy;
+
     public OrderItem(Order order, Long menuItemId, Integer quantity, BigDecimal unitPrice) {
         this.order = order;
         this.menuItemId = menuItemId;
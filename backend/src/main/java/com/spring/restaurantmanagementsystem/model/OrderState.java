@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -12,7 +13,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class OrderState {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_state_seq")
+    @SequenceGenerator(name = "order_state_seq", sequenceName = "order_state_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
 import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
 import jakarta.persistence.*;
@@ -17,7 +18,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, precision = 10, scale = 2)
@@ -37,4 +40,9 @@ public class Payment {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    // Optimistic lock, incremented on every update and exposed to clients as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
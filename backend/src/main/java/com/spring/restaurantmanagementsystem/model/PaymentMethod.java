@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,7 +12,9 @@ import lombok.Setter;
 @Getter @Setter @NoArgsConstructor
 public class PaymentMethod {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_method_seq")
+    @SequenceGenerator(name = "payment_method_seq", sequenceName = "payment_method_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -12,7 +13,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class RestaurantTable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tables_seq")
+    @SequenceGenerator(name = "tables_seq", sequenceName = "tables_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -24,4 +27,9 @@ public class RestaurantTable {
     @Enumerated(EnumType.STRING)
     @Column(name = "table_state", nullable = false)
     private TableStateEnum tableState;
+
+    // Optimistic lock, incremented on every update and exposed to clients as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
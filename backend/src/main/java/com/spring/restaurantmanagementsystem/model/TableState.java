@@ -1,5 +1,6 @@
 package com.spring.restaurantmanagementsystem.model;
 
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
 import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,7 +12,9 @@ import lombok.Setter;
 @Getter @Setter @NoArgsConstructor
 public class TableState {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_state_seq")
+    @SequenceGenerator(name = "table_state_seq", sequenceName = "table_state_seq",
+            allocationSize = PersistenceConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,15 +1,24 @@
 package com.spring.restaurantmanagementsystem.repository;
 
 import com.spring.restaurantmanagementsystem.model.MenuItem;
-import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
-    List<MenuItem> findByCategory(CategoryEnum category);
+    // Loads the whole menu with its allergens in one query instead of one extra query per item
+    @Query("SELECT DISTINCT m FROM MenuItem m LEFT JOIN FETCH m.allergens ORDER BY m.id")
+    List<MenuItem> findAllWithAllergens();
+
     boolean existsByName(String name);
     boolean existsByNameAndIdNot(String name, Long id);
+
+    Window<MenuItem> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -1,14 +1,47 @@
 package com.spring.restaurantmanagementsystem.repository;
 
+import com.spring.restaurantmanagementsystem.enums.KitchenStateEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
 import com.spring.restaurantmanagementsystem.model.OrderItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
-    List<OrderItem> findByMenuItemId(Long menuItemId);
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
     void deleteByOrderId(Long orderId);
+
+    Window<OrderItem> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<OrderItem> findByMenuItemId(Long menuItemId, ScrollPosition position, Sort sort, Limit limit);
+
+    // The items the kitchen still works on: not bumped, of orders in the given states, with their order
+    @Query("SELECT i FROM OrderItem i JOIN FETCH i.order o WHERE o.orderState IN :orderStates "
+            + "AND i.kitchenState <> com.spring.restaurantmanagementsystem.enums.KitchenStateEnum.BUMPED")
+    List<OrderItem> findKitchenItems(@Param("orderStates") Collection<OrderStateEnum> orderStates);
+
+    boolean existsByOrderIdAndKitchenStateNot(Long orderId, KitchenStateEnum kitchenState);
+
+    // Claims and bumps move the item on only from the expected state, so two cooks cannot take
+    // the same item; they return 0 when another request moved it first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderItem i SET i.kitchenState = com.spring.restaurantmanagementsystem.enums.KitchenStateEnum.CLAIMED, "
+            + "i.claimedBy = :claimedBy "
+            + "WHERE i.id = :id AND i.kitchenState = com.spring.restaurantmanagementsystem.enums.KitchenStateEnum.QUEUED")
+    int claimItem(@Param("id") Long id, @Param("claimedBy") Long claimedBy);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderItem i SET i.kitchenState = com.spring.restaurantmanagementsystem.enums.KitchenStateEnum.BUMPED "
+            + "WHERE i.id = :id AND i.kitchenState = com.spring.restaurantmanagementsystem.enums.KitchenStateEnum.CLAIMED")
+    int bumpItem(@Param("id") Long id);
 }
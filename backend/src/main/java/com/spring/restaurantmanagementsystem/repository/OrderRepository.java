@@ -1,21 +1,62 @@
 package com.spring.restaurantmanagementsystem.repository;
 
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
 import com.spring.restaurantmanagementsystem.model.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByTableId(Long tableId);
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 
-    List<Order> findByUserId(Long userId);
+    Window<Order> findByTableId(Long tableId, ScrollPosition position, Sort sort, Limit limit);
 
-    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
-    List<Order> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
-                                      @Param("endDate") LocalDateTime endDate);
+    Window<Order> findByUserId(Long userId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                         ScrollPosition position, Sort sort, Limit limit);
+
+    // Read-only cursor over a date range for exports; rows are fetched from the driver in blocks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt, o.id")
+    Stream<Order> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate);
+
+    // Compare-and-set of the state in one statement: returns 0 when the order does not exist,
+    // is no longer in one of the expected states because another request moved it first, or is
+    // past the expected version. Bumps the version like any other update of the order
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderState = :target, o.updatedAt = :updatedAt, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.orderState IN :expected "
+            + "AND (:expectedVersion IS NULL OR o.version = :expectedVersion)")
+    int updateOrderState(@Param("id") Long id,
+                         @Param("expected") Collection<OrderStateEnum> expected,
+                         @Param("target") OrderStateEnum target,
+                         @Param("updatedAt") LocalDateTime updatedAt,
+                         @Param("expectedVersion") Long expectedVersion);
+
+    // Locks the order row until the transaction ends, so writers that must see each other's
+    // committed changes to the order's items take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Order> findForUpdateById(Long id);
 }
@@ -2,19 +2,37 @@ package com.spring.restaurantmanagementsystem.repository;
 
 import com.spring.restaurantmanagementsystem.model.Payment;
 import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByOrderId(Long orderId);
-    List<Payment> findByPaymentStatus(PaymentStatusEnum paymentStatus);
-    @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate")
-    List<Payment> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
+
+    Window<Payment> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Payment> findByPaymentStatus(PaymentStatusEnum paymentStatus, ScrollPosition position, Sort sort, Limit limit);
+    Window<Payment> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                           ScrollPosition position, Sort sort, Limit limit);
+
+    // Read-only cursor over a date range for exports; rows are fetched from the driver in blocks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.createdAt, p.id")
+    Stream<Payment> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
 }
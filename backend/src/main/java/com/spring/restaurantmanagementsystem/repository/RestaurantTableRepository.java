@@ -3,6 +3,9 @@ package com.spring.restaurantmanagementsystem.repository;
 import com.spring.restaurantmanagementsystem.model.RestaurantTable;
 import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,14 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
     List<RestaurantTable> findByTableState(TableStateEnum tableState);
     boolean existsByNumber(Integer number);
     boolean existsByNumberAndIdNot(Integer number, Long id);
+
+    // Claims an available table for the order in one statement: returns 0 when the table does not
+    // exist or is not available, for example because another waiter seated it first. Pending
+    // inserts are not flushed first, so a caller can claim the table before writing the order
+    @Modifying
+    @Query("UPDATE RestaurantTable t SET t.currentOrderId = :orderId, "
+            + "t.tableState = com.spring.restaurantmanagementsystem.enums.TableStateEnum.OCCUPIED, "
+            + "t.version = t.version + 1 "
+            + "WHERE t.id = :id AND t.tableState = com.spring.restaurantmanagementsystem.enums.TableStateEnum.AVAILABLE")
+    int seatOrder(@Param("id") Long id, @Param("orderId") Long orderId);
 }
@@ -1,12 +1,15 @@
 package com.spring.restaurantmanagementsystem.repository;
 
 import com.spring.restaurantmanagementsystem.model.Shift;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface ShiftRepository extends JpaRepository<Shift, Long> {
-    List<Shift> findByUserId(Long userId);
+    Window<Shift> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Shift> findByUserId(Long userId, ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,24 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal carrying the user id and token version next to the username and authorities,
+ * so that it can be rebuilt from JWT claims without loading the user.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+    private final Long id;
+    private final long tokenVersion;
+
+    public AuthenticatedUser(Long id, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities, long tokenVersion) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+}
@@ -1,25 +1,31 @@
 package com.spring.restaurantmanagementsystem.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 @Getter
 @Service
 public class JwtService {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TOKEN_VERSION_CLAIM = "tv";
 
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
@@ -27,49 +33,66 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Built once from secretKey; both are immutable and safe to share between threads
+    @Getter(AccessLevel.NONE)
+    private SecretKey signInKey;
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    @Getter(AccessLevel.NONE)
+    private JwtParser jwtParser;
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the token signature and expiry once and returns its claims,
+     * so callers can run every further check against the parsed result.
+     *
+     * @param token The compact JWT string.
+     * @return The verified claims.
+     * @throws JwtException If the token is malformed, tampered with or expired.
+     */
+    public Claims parseToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    /**
+     * Rebuilds the authenticated principal from verified claims without touching the database.
+     *
+     * @param claims Claims returned by {@link #parseToken(String)}.
+     * @return The principal, or null if the token predates the embedded user claims.
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Long tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (claims.getSubject() == null || userId == null || tokenVersion == null || roles == null) {
+            return null;
+        }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return new AuthenticatedUser(userId, claims.getSubject(), "", authorities, tokenVersion);
     }
 
-    public String generateToken(String username) {
+    public String generateToken(AuthenticatedUser user) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        claims.put(ROLES_CLAIM, user.getAuthorities().stream()
+                .map(authority -> authority.getAuthority().replace("ROLE_", ""))
+                .toList());
         return Jwts.builder()
                 .claims(claims)
-                .subject(username)
+                .subject(user.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 }
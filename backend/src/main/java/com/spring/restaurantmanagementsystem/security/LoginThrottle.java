@@ -0,0 +1,67 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.restaurantmanagementsystem.exception.RetryLaterException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-username and per-IP token buckets for login attempts, checked before any password
+ * is hashed. Buckets live in bounded caches and disappear once idle, so a flood of
+ * distinct usernames or addresses cannot grow memory without limit.
+ */
+@Component
+public class LoginThrottle {
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final int usernameCapacity;
+    private final Duration usernameRefill;
+    private final int ipCapacity;
+    private final Duration ipRefill;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+
+    public LoginThrottle(@Value("${app.security.login.username-burst:5}") int usernameCapacity,
+                         @Value("${app.security.login.username-refill:PT12S}") Duration usernameRefill,
+                         @Value("${app.security.login.ip-burst:40}") int ipCapacity,
+                         @Value("${app.security.login.ip-refill:PT2S}") Duration ipRefill) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefill = usernameRefill;
+        this.ipCapacity = ipCapacity;
+        this.ipRefill = ipRefill;
+        this.usernameBuckets = newBucketCache(usernameRefill.multipliedBy(usernameCapacity));
+        this.ipBuckets = newBucketCache(ipRefill.multipliedBy(ipCapacity));
+    }
+
+    /**
+     * Takes one attempt from both the username's and the client address' bucket.
+     *
+     * @throws RetryLaterException With status 429 if either bucket is empty.
+     */
+    public void acquire(String username, String remoteAddress) {
+        long now = System.nanoTime();
+        Duration wait = ipBuckets.get(remoteAddress, key -> new TokenBucket(ipCapacity, ipRefill, now))
+                .tryConsume(now);
+        if (wait.isZero() && username != null) {
+            wait = usernameBuckets.get(username.toLowerCase(),
+                            key -> new TokenBucket(usernameCapacity, usernameRefill, now))
+                    .tryConsume(now);
+        }
+        if (!wait.isZero()) {
+            throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS, wait,
+                    "Too many sign-in attempts, please retry later");
+        }
+    }
+
+    // An idle bucket is dropped only once it would have refilled completely anyway
+    private static Cache<String, TokenBucket> newBucketCache(Duration fullRefill) {
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterAccess(fullRefill)
+                .build();
+    }
+}
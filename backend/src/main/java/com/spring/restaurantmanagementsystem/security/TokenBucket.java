@@ -0,0 +1,44 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Classic token bucket: holds up to capacity tokens and regains one every refillInterval.
+ * Uses a lock rather than synchronized so waiting virtual threads are never pinned.
+ */
+class TokenBucket {
+    private final int capacity;
+    private final long refillIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(int capacity, Duration refillInterval, long now) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = refillInterval.toNanos();
+        this.tokens = capacity;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now The current System.nanoTime().
+     * @return Zero if a token was taken, otherwise the time until the next token becomes available.
+     */
+    Duration tryConsume(long now) {
+        lock.lock();
+        try {
+            tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillIntervalNanos);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) ((1 - tokens) * refillIntervalNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Caches the current token version per user id, so validating a token costs
+ * a cache lookup and only occasionally a single-column query.
+ * Committed user changes evict the entry at once; the TTL bounds how long
+ * another instance may keep accepting a revoked token.
+ * Hit, miss and eviction counts are published as the "token-versions" cache metrics.
+ */
+@Component
+public class TokenVersionCache {
+    static final String CACHE_NAME = "token-versions";
+
+    // Version recorded for deleted users; no issued token can match it
+    private static final long REVOKED = -1L;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> versions;
+
+    public TokenVersionCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                             @Value("${app.security.token-version-cache.max-size:10000}") long maxSize,
+                             @Value("${app.security.token-version-ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        return versions.get(userId, key -> userRepository.findTokenVersionById(key).orElse(REVOKED)) == tokenVersion;
+    }
+
+    // Waits for a load of the same user in flight, so a version read before the change cannot be stored after it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        versions.invalidate(event.userId());
+    }
+}
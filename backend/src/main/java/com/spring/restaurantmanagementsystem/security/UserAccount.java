@@ -0,0 +1,51 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.spring.restaurantmanagementsystem.model.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Immutable, detached copy of the user data needed for authentication and /api/auth/me.
+ * Safe to cache and share: a fresh {@link AuthenticatedUser} is built for every caller,
+ * so erasing credentials after login never reaches the cached copy.
+ */
+public record UserAccount(
+        Long id,
+        String username,
+        String email,
+        String password,
+        List<String> roles,
+        long tokenVersion
+) {
+    public static UserAccount from(User user) {
+        return new UserAccount(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRoles().stream()
+                        .map(role -> role.getName().name())
+                        .toList(),
+                user.getTokenVersion()
+        );
+    }
+
+    public AuthenticatedUser toAuthenticatedUser() {
+        return new AuthenticatedUser(
+                id,
+                username,
+                password,
+                roles.stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList(),
+                tokenVersion
+        );
+    }
+
+    // Keeps the password hash out of logs
+    @Override
+    public String toString() {
+        return "UserAccount[id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
@@ -0,0 +1,56 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size-bounded, TTL-limited cache of user accounts keyed by username.
+ * Entries are evicted as soon as a change to the user commits; the TTL only bounds
+ * staleness from changes made outside AdminService or on another instance.
+ * Hit, miss and eviction counts are published as the "users" cache metrics.
+ */
+@Component
+public class UserCache {
+    static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserAccount> cache;
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                     @Value("${app.security.user-cache.max-size:1000}") long maxSize,
+                     @Value("${app.security.user-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<UserAccount> findByUsername(String username) {
+        // Unknown usernames load as null, which Caffeine does not store
+        return Optional.ofNullable(cache.get(username, key -> userRepository.findByUsername(key)
+                .map(UserAccount::from)
+                .orElse(null)));
+    }
+
+    // Evicts by key under both names, which waits for a load of that key in flight,
+    // so an account read before the change cannot be stored after it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.previousUsername());
+        cache.invalidate(event.username());
+    }
+}
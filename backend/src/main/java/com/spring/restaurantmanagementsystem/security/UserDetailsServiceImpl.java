@@ -1,38 +1,50 @@
 package com.spring.restaurantmanagementsystem.security;
 
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
-
 @Service
 @Primary
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    private final UserCache userCache;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserCache userCache, UserRepository userRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.userCache = userCache;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername (String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return userCache.findByUsername(username)
+                .map(UserAccount::toAuthenticatedUser)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
-                        .collect(Collectors.toList())
-        );
+    /**
+     * Stores a re-hashed password after a successful login whose stored hash used a lower cost.
+     * The password itself is unchanged, so issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+        return UserAccount.from(user).toAuthenticatedUser();
     }
 }
@@ -2,20 +2,24 @@ package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.ChangePasswordRequest;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Role;
 import com.spring.restaurantmanagementsystem.enums.RoleEnum;
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.RoleRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import static java.util.stream.Collectors.toSet;
 
@@ -24,19 +28,21 @@ public class AdminService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(UserRepository userRepository, RoleRepository roleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDto)
-                .toList();
+    public CursorPage<UserDto> getAllUsers(PageQuery query) {
+        Window<UserDto> users = userRepository.findAllBy(query.positionById(), PageQuery.BY_ID, query.limit())
+                .map(this::convertToDto);
+        return CursorPage.of(users.getContent(), users.hasNext(), UserDto::id);
     }
 
     @Transactional
@@ -60,6 +66,7 @@ public class AdminService {
     public UserDto updateUser(Long userId, UpdateUserRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        String previousUsername = user.getUsername();
 
         // Using pattern matching with records
         if (request instanceof UpdateUserRequest(var username, var email, var role)) {
@@ -81,16 +88,24 @@ public class AdminService {
 
         }
 
+        // Issued tokens embed the username and roles, so revoke them when either changes
+        if (isRevokingChange(request)) {
+            revokeTokens(user, previousUsername);
+        } else {
+            // Cached accounts carry the email as well
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+        }
+
         User updatedUser = userRepository.save(user);
         return convertToDto(updatedUser);
     }
 
     @Transactional
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with id: " + userId);
-        }
+        String username = userRepository.findUsernameById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, username));
     }
 
     @Transactional
@@ -109,9 +124,21 @@ public class AdminService {
 
         // Update password
         user.setPassword(passwordEncoder.encode(request.newPassword()));
+        revokeTokens(user, user.getUsername());
         userRepository.save(user);
     }
 
+    // Helper method to invalidate every token issued to the user so far
+    private void revokeTokens(User user, String previousUsername) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), previousUsername));
+    }
+
+    private boolean isRevokingChange(UpdateUserRequest request) {
+        return (request.username() != null && !request.username().isBlank())
+                || (request.role() != null && !request.role().isBlank());
+    }
+
     private void validateUniqueUserData(String username, String email, Long excludeUserId) {
         if (username != null) {
             boolean usernameExists = excludeUserId != null
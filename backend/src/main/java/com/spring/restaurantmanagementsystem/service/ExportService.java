@@ -0,0 +1,148 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.PaymentDto;
+import com.spring.restaurantmanagementsystem.enums.ExportFormatEnum;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes orders and payments of a date range straight to an output stream as
+ * newline-delimited JSON or CSV, one row at a time, so exports of any size are
+ * never materialized in memory.
+ */
+@Service
+public class ExportService {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String ORDER_CSV_HEADER =
+            "id,tableId,userId,createdAt,updatedAt,totalAmount,orderState,customerCount,itemCount";
+    private static final String PAYMENT_CSV_HEADER =
+            "id,amount,paymentMethod,paymentStatus,orderId,createdAt";
+
+    private final OrderService orderService;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(OrderService orderService, PaymentService paymentService, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.paymentService = paymentService;
+        this.objectMapper = objectMapper;
+    }
+
+    public ExportFormatEnum parseFormat(String format) {
+        try {
+            return ExportFormatEnum.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + format);
+        }
+    }
+
+    public MediaType contentType(ExportFormatEnum format) {
+        return format == ExportFormatEnum.CSV ? CSV : NDJSON;
+    }
+
+    public void exportOrders(LocalDateTime startDate, LocalDateTime endDate,
+                             ExportFormatEnum format, OutputStream outputStream) throws IOException {
+        Writer writer = newWriter(outputStream);
+        if (format == ExportFormatEnum.CSV) {
+            writeLine(writer, ORDER_CSV_HEADER);
+        }
+        try {
+            orderService.streamOrdersByDateRange(startDate, endDate, orders -> {
+                for (OrderDto order : orders) {
+                    writeLine(writer, format == ExportFormatEnum.CSV ? toCsv(order) : toJson(order));
+                }
+                flush(writer);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    public void exportPayments(LocalDateTime startDate, LocalDateTime endDate,
+                               ExportFormatEnum format, OutputStream outputStream) throws IOException {
+        Writer writer = newWriter(outputStream);
+        if (format == ExportFormatEnum.CSV) {
+            writeLine(writer, PAYMENT_CSV_HEADER);
+        }
+        try {
+            paymentService.streamPaymentsByDateRange(startDate, endDate, payment ->
+                    writeLine(writer, format == ExportFormatEnum.CSV ? toCsv(payment) : toJson(payment)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Helper method to buffer writes so rows reach the socket in blocks rather than one by one
+    private Writer newWriter(OutputStream outputStream) {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(Writer writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Every column is a number, an enum name or an ISO timestamp, so no quoting is needed
+    private String toCsv(OrderDto order) {
+        return String.join(",",
+                String.valueOf(order.id()),
+                String.valueOf(order.tableId()),
+                String.valueOf(order.userId()),
+                String.valueOf(order.createdAt()),
+                String.valueOf(order.updatedAt()),
+                String.valueOf(order.totalAmount()),
+                order.orderState(),
+                String.valueOf(order.customerCount()),
+                String.valueOf(sizeOf(order.orderItems())));
+    }
+
+    private String toCsv(PaymentDto payment) {
+        return String.join(",",
+                String.valueOf(payment.id()),
+                String.valueOf(payment.amount()),
+                payment.paymentMethod(),
+                payment.paymentStatus(),
+                String.valueOf(payment.orderId()),
+                String.valueOf(payment.createdAt()));
+    }
+
+    private int sizeOf(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.event.OrderStateChangedEvent;
+import com.spring.restaurantmanagementsystem.event.TableBoardChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live feed of the floor as server-sent events: a "table" event with the changes of every new
+ * table board version, and an "order" event for every committed order state change.
+ * Clients that cannot be replayed get a "reset" event and reload the board.
+ */
+@Component
+public class FloorEventStream {
+    static final String TABLE_EVENT = "table";
+    static final String ORDER_EVENT = "order";
+
+    private final TableBoard tableBoard;
+    private final SseChannel channel;
+
+    public FloorEventStream(TableBoard tableBoard, ServerSentEvents serverSentEvents) {
+        this.tableBoard = tableBoard;
+        this.channel = serverSentEvents.channel("floor");
+    }
+
+    /**
+     * @param lastEventId The id of the last event the client received; null for a new client.
+     * @return An emitter streaming the events after that id, or after now for a new client.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        // The board only publishes its changes once it is loaded
+        tableBoard.version();
+        return channel.subscribe(lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        tableBoard.version();
+        return channel.subscribe(emitter, lastEventId);
+    }
+
+    @EventListener
+    public void onTableBoardChanged(TableBoardChangedEvent event) {
+        channel.publish(TABLE_EVENT, event.changes());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStateChanged(OrderStateChangedEvent event) {
+        channel.publish(ORDER_EVENT, event);
+    }
+}
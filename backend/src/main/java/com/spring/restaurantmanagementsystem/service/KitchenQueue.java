@@ -0,0 +1,309 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.KitchenItem;
+import com.spring.restaurantmanagementsystem.dto.KitchenItemRemoved;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.enums.KitchenStateEnum;
+import com.spring.restaurantmanagementsystem.enums.KitchenStationEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.event.MenuChangedEvent;
+import com.spring.restaurantmanagementsystem.event.OrderItemsChangedEvent;
+import com.spring.restaurantmanagementsystem.model.MenuItem;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.model.OrderItem;
+import com.spring.restaurantmanagementsystem.repository.MenuItemRepository;
+import com.spring.restaurantmanagementsystem.repository.OrderItemRepository;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory kitchen display: per station, the order items still to be prepared, ordered by the
+ * age of their ticket and then by course. Items are routed to a station by the category of their
+ * menu item, and only items of pending and preparing orders are queued.
+ * The queues load on first use. After every committed change to an order's items or state, that
+ * one order is re-read and its items replaced; each item that changed is pushed to the event
+ * stream of its station. Items are found by id through an index, and the queues are skip lists,
+ * so no change ever scans a queue.
+ * The re-read runs before taking the lock, so a writer's listener never waits for another one
+ * while it holds a connection. Order items carry no version to tell an older read from a newer
+ * one, so each order is read by one listener at a time: a change that commits while the order is
+ * being read makes that listener read it again instead of reading it in parallel. A re-read that
+ * fails unloads the queues, and their next use loads them again and resets the station screens.
+ */
+@Component
+public class KitchenQueue {
+    static final String ITEM_EVENT = "item";
+    static final String REMOVED_EVENT = "removed";
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueue.class);
+
+    // The orders the kitchen works on; items leave the queues once their order moves past these
+    private static final Set<OrderStateEnum> KITCHEN_STATES = EnumSet.of(OrderStateEnum.PENDING, OrderStateEnum.PREPARING);
+    private static final Comparator<KitchenItem> BY_TICKET_AGE_AND_COURSE = Comparator
+            .comparing(KitchenItem::orderedAt)
+            .thenComparing(KitchenItem::orderId)
+            .thenComparingInt(KitchenItem::course)
+            .thenComparing(KitchenItem::itemId);
+    // Stands in for a menu item deleted while ordered, which is cooked like a main
+    private static final Dish UNKNOWN_DISH = new Dish(null, CategoryEnum.MAIN);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate readTransaction;
+    private final Map<KitchenStationEnum, Station> stations = new EnumMap<>(KitchenStationEnum.class);
+    private final Map<Long, KitchenItem> itemsById = new ConcurrentHashMap<>();
+    // Guarded by writeLock
+    private final Map<Long, Set<Long>> itemIdsByOrder = new HashMap<>();
+    private final Map<Long, Dish> dishes = new ConcurrentHashMap<>();
+    // Orders being re-read, and whether they changed again since the read started
+    private final Map<Long, Boolean> refreshing = new ConcurrentHashMap<>();
+    // Guarded by writeLock
+    private boolean reload;
+    private volatile boolean loaded;
+
+    public KitchenQueue(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                        MenuItemRepository menuItemRepository, PlatformTransactionManager transactionManager,
+                        ServerSentEvents serverSentEvents) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.menuItemRepository = menuItemRepository;
+        // Loads run after the writer's commit, in a transaction of their own with a fresh persistence context
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        for (KitchenStationEnum station : KitchenStationEnum.values()) {
+            stations.put(station, new Station(new ConcurrentSkipListSet<>(BY_TICKET_AGE_AND_COURSE),
+                    serverSentEvents.channel("kitchen-" + station.name().toLowerCase())));
+        }
+    }
+
+    /**
+     * @param station The station whose screen is shown.
+     * @return The queued and claimed items of the station, oldest ticket first.
+     */
+    public List<KitchenItem> items(KitchenStationEnum station) {
+        ensureLoaded();
+        return List.copyOf(stations.get(station).queue());
+    }
+
+    /**
+     * @param itemId The id of an order item.
+     * @return The item, if it is on one of the station queues.
+     */
+    public Optional<KitchenItem> find(Long itemId) {
+        ensureLoaded();
+        return Optional.ofNullable(itemsById.get(itemId));
+    }
+
+    /**
+     * @param station The station whose changes are streamed.
+     * @param lastEventId The id of the last event the screen received; null for a new screen.
+     * @return An emitter streaming "item" events for new and changed items, and "removed" events.
+     */
+    public SseEmitter subscribe(KitchenStationEnum station, String lastEventId) {
+        ensureLoaded();
+        return stations.get(station).channel().subscribe(lastEventId);
+    }
+
+    SseEmitter subscribe(KitchenStationEnum station, SseEmitter emitter, String lastEventId) {
+        ensureLoaded();
+        return stations.get(station).channel().subscribe(emitter, lastEventId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderItemsChanged(OrderItemsChangedEvent event) {
+        Long orderId = event.orderId();
+        if (refreshing.put(orderId, true) != null) {
+            return;
+        }
+        do {
+            refreshing.put(orderId, false);
+            List<KitchenItem> items;
+            try {
+                items = readTransaction.execute(status -> loadOrder(orderId));
+            } catch (RuntimeException e) {
+                refreshing.remove(orderId);
+                // The queues would otherwise miss this change for good
+                log.warn("Could not refresh order {} in the kitchen queues, reloading them on their next use",
+                        orderId, e);
+                unload();
+                return;
+            }
+
+            writeLock.lock();
+            try {
+                // Not loaded yet: the first read loads the committed change with everything else
+                if (loaded) {
+                    replace(orderId, items);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } while (!refreshing.remove(orderId, false));
+    }
+
+    // Renamed or recategorized dishes show up with the next change of the items that use them
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        dishes.remove(event.menuItemId());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (!loaded) {
+                List<KitchenItem> items = readTransaction.execute(status -> {
+                    List<OrderItem> orderItems = orderItemRepository.findKitchenItems(KITCHEN_STATES);
+                    loadDishes(orderItems);
+                    return orderItems.stream()
+                            .map(orderItem -> toKitchenItem(orderItem, orderItem.getOrder()))
+                            .toList();
+                });
+                for (KitchenItem item : items) {
+                    itemsById.put(item.itemId(), item);
+                    itemIdsByOrder.computeIfAbsent(item.orderId(), key -> new HashSet<>()).add(item.itemId());
+                    stationOf(item).queue().add(item);
+                }
+                loaded = true;
+                if (reload) {
+                    // Changes were lost with the unloaded queues, so the screens reload theirs
+                    reload = false;
+                    stations.values().forEach(station -> station.channel().publish(SseChannel.RESET_EVENT, Map.of()));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void unload() {
+        writeLock.lock();
+        try {
+            if (loaded) {
+                loaded = false;
+                reload = true;
+                itemsById.clear();
+                itemIdsByOrder.clear();
+                stations.values().forEach(station -> station.queue().clear());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The order's items as the kitchen should show them now; none once the order left the kitchen
+    private List<KitchenItem> loadOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || !KITCHEN_STATES.contains(order.getOrderState())) {
+            return List.of();
+        }
+        List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId).stream()
+                .filter(orderItem -> orderItem.getKitchenState() != KitchenStateEnum.BUMPED)
+                .toList();
+        loadDishes(orderItems);
+        return orderItems.stream()
+                .map(orderItem -> toKitchenItem(orderItem, order))
+                .toList();
+    }
+
+    private void replace(Long orderId, List<KitchenItem> items) {
+        Set<Long> current = new HashSet<>();
+        for (KitchenItem item : items) {
+            current.add(item.itemId());
+            KitchenItem previous = itemsById.put(item.itemId(), item);
+            if (item.equals(previous)) {
+                continue;
+            }
+            if (previous != null) {
+                stationOf(previous).queue().remove(previous);
+                if (!previous.station().equals(item.station())) {
+                    stationOf(previous).channel().publish(REMOVED_EVENT, new KitchenItemRemoved(item.itemId(), orderId));
+                }
+            }
+            Station station = stationOf(item);
+            station.queue().add(item);
+            station.channel().publish(ITEM_EVENT, item);
+        }
+
+        for (Long itemId : itemIdsByOrder.getOrDefault(orderId, Set.of())) {
+            if (!current.contains(itemId)) {
+                KitchenItem removed = itemsById.remove(itemId);
+                stationOf(removed).queue().remove(removed);
+                stationOf(removed).channel().publish(REMOVED_EVENT, new KitchenItemRemoved(itemId, orderId));
+            }
+        }
+        if (current.isEmpty()) {
+            itemIdsByOrder.remove(orderId);
+        } else {
+            itemIdsByOrder.put(orderId, current);
+        }
+    }
+
+    // Looks up the dishes not seen before with one query
+    private void loadDishes(List<OrderItem> orderItems) {
+        List<Long> missing = orderItems.stream()
+                .map(OrderItem::getMenuItemId)
+                .filter(menuItemId -> !dishes.containsKey(menuItemId))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            for (MenuItem menuItem : menuItemRepository.findAllById(missing)) {
+                dishes.put(menuItem.getId(), new Dish(menuItem.getName(), menuItem.getCategory()));
+            }
+        }
+    }
+
+    private KitchenItem toKitchenItem(OrderItem orderItem, Order order) {
+        Dish dish = dishes.getOrDefault(orderItem.getMenuItemId(), UNKNOWN_DISH);
+        return new KitchenItem(
+                orderItem.getId(),
+                order.getId(),
+                order.getTableId(),
+                orderItem.getMenuItemId(),
+                dish.name(),
+                orderItem.getQuantity(),
+                KitchenStationEnum.forCategory(dish.category()).name(),
+                dish.category().course(),
+                orderItem.getKitchenState().name(),
+                orderItem.getClaimedBy(),
+                order.getCreatedAt()
+        );
+    }
+
+    private Station stationOf(KitchenItem item) {
+        return stations.get(KitchenStationEnum.valueOf(item.station()));
+    }
+
+    private record Station(ConcurrentSkipListSet<KitchenItem> queue, SseChannel channel) {
+    }
+
+    private record Dish(String name, CategoryEnum category) {
+    }
+}
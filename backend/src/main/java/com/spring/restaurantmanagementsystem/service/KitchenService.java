@@ -0,0 +1,103 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.KitchenItem;
+import com.spring.restaurantmanagementsystem.enums.KitchenStateEnum;
+import com.spring.restaurantmanagementsystem.enums.KitchenStationEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.event.OrderItemsChangedEvent;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.OrderItem;
+import com.spring.restaurantmanagementsystem.repository.OrderItemRepository;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Service
+@Transactional
+public class KitchenService {
+    private final KitchenQueue kitchenQueue;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public KitchenService(KitchenQueue kitchenQueue, OrderItemRepository orderItemRepository,
+                          OrderRepository orderRepository, OrderService orderService,
+                          ApplicationEventPublisher eventPublisher) {
+        this.kitchenQueue = kitchenQueue;
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Served from the in-memory queue, so no transaction is opened
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<KitchenItem> getStationItems(String station) {
+        return kitchenQueue.items(parseStation(station));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SseEmitter subscribeToStation(String station, String lastEventId) {
+        return kitchenQueue.subscribe(parseStation(station), lastEventId);
+    }
+
+    // The first claim on an order starts it in the kitchen
+    public KitchenItem claimItem(Long itemId, Long userId) {
+        KitchenItem item = findQueuedItem(itemId);
+        if (orderItemRepository.claimItem(itemId, userId) == 0) {
+            throw conflict(itemId, KitchenStateEnum.QUEUED);
+        }
+        orderService.advanceOrderState(item.orderId(), OrderStateEnum.PENDING, OrderStateEnum.PREPARING);
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(item.orderId()));
+        return withState(item, KitchenStateEnum.CLAIMED, userId);
+    }
+
+    // Bumping the last open item of an order marks the order ready
+    public KitchenItem bumpItem(Long itemId) {
+        KitchenItem item = findQueuedItem(itemId);
+        // Bumps of one order take turns, so the last of two concurrent bumps sees the other one committed;
+        // otherwise each would still see the other item claimed and neither would mark the order ready
+        orderRepository.findForUpdateById(item.orderId());
+        if (orderItemRepository.bumpItem(itemId) == 0) {
+            throw conflict(itemId, KitchenStateEnum.CLAIMED);
+        }
+        if (!orderItemRepository.existsByOrderIdAndKitchenStateNot(item.orderId(), KitchenStateEnum.BUMPED)) {
+            orderService.advanceOrderState(item.orderId(), OrderStateEnum.PREPARING, OrderStateEnum.READY);
+        }
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(item.orderId()));
+        return withState(item, KitchenStateEnum.BUMPED, item.claimedBy());
+    }
+
+    // Items that are not on a station queue, because they are done or their order left the kitchen, are not found
+    private KitchenItem findQueuedItem(Long itemId) {
+        return kitchenQueue.find(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Kitchen item not found with id: " + itemId));
+    }
+
+    // The queue may not show a concurrent claim or bump yet, so the message reports the state in the database
+    private ConflictException conflict(Long itemId, KitchenStateEnum expected) {
+        OrderItem orderItem = orderItemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Kitchen item not found with id: " + itemId));
+        return new ConflictException("Item " + itemId + " is " + orderItem.getKitchenState() + ", not " + expected);
+    }
+
+    private KitchenItem withState(KitchenItem item, KitchenStateEnum kitchenState, Long claimedBy) {
+        return new KitchenItem(item.itemId(), item.orderId(), item.tableId(), item.menuItemId(), item.menuItemName(),
+                item.quantity(), item.station(), item.course(), kitchenState.name(), claimedBy, item.orderedAt());
+    }
+
+    private KitchenStationEnum parseStation(String station) {
+        try {
+            return KitchenStationEnum.valueOf(station.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid kitchen station: " + station);
+        }
+    }
+}
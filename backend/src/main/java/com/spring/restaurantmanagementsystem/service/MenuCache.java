@@ -0,0 +1,137 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.AllergenIndex;
+import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.MenuSnapshot;
+import com.spring.restaurantmanagementsystem.dto.RenderedJson;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.event.MenuChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-through cache holding a single immutable snapshot of the menu.
+ * Reads are a volatile load; a miss rebuilds the snapshot under a lock so concurrent
+ * readers trigger one database load. Committed menu changes drop the snapshot, and a
+ * rebuild that raced with such a change is served once but never installed.
+ * Serialization and compression happen only during a rebuild, never per request.
+ */
+@Component
+public class MenuCache {
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private volatile MenuSnapshot snapshot;
+
+    public MenuCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public MenuSnapshot get(Supplier<List<MenuItemDto>> loader) {
+        MenuSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long startedAt = generation.get();
+            MenuSnapshot rebuilt = build(startedAt, loader.get());
+            if (generation.get() == startedAt) {
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private MenuSnapshot build(long version, List<MenuItemDto> items) {
+        Map<CategoryEnum, List<MenuItemDto>> grouped = items.stream()
+                .collect(Collectors.groupingBy(item -> CategoryEnum.valueOf(item.category())));
+
+        // Every category gets an entry, so empty categories are served from the cache as well
+        Map<CategoryEnum, List<MenuItemDto>> byCategory = new EnumMap<>(CategoryEnum.class);
+        Map<CategoryEnum, RenderedJson> jsonByCategory = new EnumMap<>(CategoryEnum.class);
+        Map<CategoryEnum, AllergenIndex> allergenIndexByCategory = new EnumMap<>(CategoryEnum.class);
+        for (CategoryEnum category : CategoryEnum.values()) {
+            List<MenuItemDto> categoryItems = List.copyOf(grouped.getOrDefault(category, List.of()));
+            byCategory.put(category, categoryItems);
+            jsonByCategory.put(category, render(categoryItems));
+            allergenIndexByCategory.put(category, AllergenIndex.of(categoryItems));
+        }
+
+        return new MenuSnapshot(version, List.copyOf(items), Collections.unmodifiableMap(byCategory),
+                render(items), Collections.unmodifiableMap(jsonByCategory),
+                AllergenIndex.of(items), Collections.unmodifiableMap(allergenIndexByCategory));
+    }
+
+    private RenderedJson render(List<MenuItemDto> items) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render menu", e);
+        }
+        byte[] gzip = compress(json, GZIPOutputStream::new);
+        byte[] deflate = compress(json, out -> new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION)));
+        return new RenderedJson(etagOf(json), json, gzip, deflate);
+    }
+
+    private byte[] compress(byte[] data, CompressorFactory factory) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (OutputStream compressor = factory.open(buffer)) {
+            compressor.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Helper method to derive a strong ETag from the rendered content
+    private String etagOf(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompressorFactory {
+        OutputStream open(OutputStream out) throws IOException;
+    }
+}
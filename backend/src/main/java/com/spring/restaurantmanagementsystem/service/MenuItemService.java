@@ -1,17 +1,28 @@
 package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.CreateMenuItemRequest;
+import com.spring.restaurantmanagementsystem.dto.AllergenIndex;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
 import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.MenuSnapshot;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateMenuItemRequest;
+import com.spring.restaurantmanagementsystem.enums.AllergenEnum;
 import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.event.MenuChangedEvent;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Allergen;
 import com.spring.restaurantmanagementsystem.model.MenuItem;
 import com.spring.restaurantmanagementsystem.repository.AllergenRepository;
 import com.spring.restaurantmanagementsystem.repository.MenuItemRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,17 +33,35 @@ import java.util.stream.Collectors;
 public class MenuItemService {
     private final MenuItemRepository menuItemRepository;
     private final AllergenRepository allergenRepository;
+    private final MenuCache menuCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MenuItemService(MenuItemRepository menuItemRepository, AllergenRepository allergenRepository) {
+    public MenuItemService(MenuItemRepository menuItemRepository, AllergenRepository allergenRepository,
+                           MenuCache menuCache, ApplicationEventPublisher eventPublisher) {
         this.menuItemRepository = menuItemRepository;
         this.allergenRepository = allergenRepository;
+        this.menuCache = menuCache;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional(readOnly = true)
-    public List<MenuItemDto> getAllMenuItems() {
-        return menuItemRepository.findAll().stream()
+    /**
+     * Returns the cached menu snapshot, loading it on first use or after a committed change.
+     * Runs without a transaction so that cache hits never touch the database.
+     *
+     * @return The current menu snapshot.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public MenuSnapshot getMenuSnapshot() {
+        return menuCache.get(() -> menuItemRepository.findAllWithAllergens().stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<MenuItemDto> getMenuItems(PageQuery query) {
+        Window<MenuItemDto> menuItems = menuItemRepository.findAllBy(query.positionById(), PageQuery.BY_ID, query.limit())
+                .map(this::convertToDto);
+        return CursorPage.of(menuItems.getContent(), menuItems.hasNext(), MenuItemDto::id);
     }
 
     @Transactional(readOnly = true)
@@ -42,18 +71,47 @@ public class MenuItemService {
         return convertToDto(menuItem);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Returns the menu items containing none of the given allergens, answered from the
+     * snapshot's bitset index without touching the database.
+     *
+     * @param excludedAllergens The allergen names to exclude.
+     * @param category The category to restrict to, or null for the whole menu.
+     * @return The matching menu items in menu order.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItemDto> getAllergenSafeMenuItems(Collection<String> excludedAllergens, String category) {
+        int excludedMask = AllergenEnum.maskOf(parseAllergens(excludedAllergens));
+        MenuSnapshot menu = getMenuSnapshot();
+        AllergenIndex index = category == null ? menu.allergenIndex() : menu.allergenIndexIn(parseCategory(category));
+        return index.itemsWithout(excludedMask);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<MenuItemDto> getMenuItemsByCategory(String category) {
+        return getMenuSnapshot().itemsIn(parseCategory(category));
+    }
+
+    public CategoryEnum parseCategory(String category) {
         try {
-            CategoryEnum categoryEnum = CategoryEnum.valueOf(category.toUpperCase());
-            return menuItemRepository.findByCategory(categoryEnum).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return CategoryEnum.valueOf(category.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid category: " + category);
         }
     }
 
+    private List<AllergenEnum> parseAllergens(Collection<String> allergens) {
+        List<AllergenEnum> parsed = new ArrayList<>(allergens.size());
+        for (String allergen : allergens) {
+            try {
+                parsed.add(AllergenEnum.valueOf(allergen.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid allergen: " + allergen);
+            }
+        }
+        return parsed;
+    }
+
     public MenuItemDto createMenuItem(CreateMenuItemRequest request) {
         // Check if menu item name already exists
         if (menuItemRepository.existsByName(request.name())) {
@@ -65,6 +123,7 @@ public class MenuItemService {
         setMenuItemAllergens(menuItem, request.allergenIds());
 
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(savedMenuItem.getId()));
         return convertToDto(savedMenuItem);
     }
 
@@ -85,6 +144,7 @@ public class MenuItemService {
         setMenuItemAllergens(menuItem, request.allergenIds());
 
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(id));
         return convertToDto(savedMenuItem);
     }
 
@@ -93,6 +153,7 @@ public class MenuItemService {
             throw new ResourceNotFoundException("MenuItem not found with id: " + id);
         }
         menuItemRepository.deleteById(id);
+        eventPublisher.publishEvent(new MenuChangedEvent(id));
     }
 
     private void setBasicMenuItemFields(MenuItem menuItem, String name, String description,
@@ -102,12 +163,7 @@ public class MenuItemService {
         menuItem.setPrice(price);
 
         // Set category
-        try {
-            CategoryEnum categoryEnum = CategoryEnum.valueOf(category.toUpperCase());
-            menuItem.setCategory(categoryEnum);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid category: " + category);
-        }
+        menuItem.setCategory(parseCategory(category));
     }
 
     private void setMenuItemAllergens(MenuItem menuItem, Set<Long> allergenIds) {
@@ -120,6 +176,9 @@ public class MenuItemService {
             }
             menuItem.setAllergens(allergens);
         }
+        menuItem.setAllergenMask(AllergenEnum.maskOf(menuItem.getAllergens().stream()
+                .map(Allergen::getName)
+                .toList()));
     }
 
     private MenuItemDto convertToDto(MenuItem menuItem) {
@@ -133,7 +192,8 @@ public class MenuItemService {
                 menuItem.getDescription(),
                 allergenNames,
                 menuItem.getPrice(),
-                menuItem.getCategory().name()
+                menuItem.getCategory().name(),
+                menuItem.getAllergenMask()
         );
     }
 }
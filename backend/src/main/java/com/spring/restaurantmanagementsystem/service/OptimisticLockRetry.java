@@ -0,0 +1,78 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an update in its own transaction and runs it again, up to a bounded number of attempts,
+ * when it loses an optimistic lock race. Only for updates that are safe to repeat: every
+ * attempt re-reads the rows and re-checks its preconditions, so a retry never overwrites the
+ * concurrent change blindly. An update the client made conditional with If-Match fails its
+ * version check on the retry instead.
+ */
+@Component
+public class OptimisticLockRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${app.optimistic-lock.max-attempts:3}") int maxAttempts,
+                               @Value("${app.optimistic-lock.backoff:PT0.02S}") Duration backoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("app.optimistic-lock.max-attempts must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Runs the update, retrying it in a fresh transaction after an optimistic lock failure.
+     * Inside a caller's transaction it runs once, since only the outermost transaction can
+     * start over with fresh rows.
+     *
+     * @param update The update; it must load everything it changes itself.
+     * @return The result of the first attempt that commits.
+     * @throws OptimisticLockingFailureException If the last attempt also loses the race.
+     */
+    public <T> T execute(Supplier<T> update) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return update.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                pause(attempt);
+            }
+        }
+    }
+
+    // Linear backoff with jitter, so writers that collided once do not collide again in lockstep
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry an update", e);
+        }
+    }
+}
@@ -1,36 +1,50 @@
 package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
 import com.spring.restaurantmanagementsystem.dto.OrderItemDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.event.OrderItemsChangedEvent;
+import com.spring.restaurantmanagementsystem.event.TableChangedEvent;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Order;
 import com.spring.restaurantmanagementsystem.model.OrderItem;
 import com.spring.restaurantmanagementsystem.repository.OrderItemRepository;
 import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrderItemService {
+    // Upper bound for the IN list of a single batched lookup, well below driver parameter limits
+    private static final int ORDER_ID_BATCH_SIZE = 500;
+
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderItemService(OrderItemRepository orderItemRepository, OrderRepository orderRepository) {
+    public OrderItemService(OrderItemRepository orderItemRepository, OrderRepository orderRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public List<OrderItemDto> getAllOrderItems() {
-        return orderItemRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<OrderItemDto> getAllOrderItems(PageQuery query) {
+        return toPage(orderItemRepository.findAllBy(query.positionById(), PageQuery.BY_ID, query.limit()));
     }
 
     @Transactional(readOnly = true)
@@ -47,23 +61,36 @@ public class OrderItemService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Loads the items of several orders with one query per batch of order ids
+     * and groups them by order, so listing orders does not issue a query per order.
+     *
+     * @param orderIds The ids of the orders whose items are needed.
+     * @return The order items keyed by order id; orders without items are absent.
+     */
     @Transactional(readOnly = true)
-    public List<OrderItemDto> getOrderItemsByMenuItemId(Long menuItemId) {
-        return orderItemRepository.findByMenuItemId(menuItemId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-
-    public OrderItemDto createOrderItem(Long orderId, CreateOrderItemRequest request) {
-        return createOrderItemInternal(orderId, request.menuItemId(), request.quantity(), request.unitPrice());
+    public Map<Long, List<OrderItemDto>> getOrderItemsByOrderIds(Collection<Long> orderIds) {
+        Map<Long, List<OrderItemDto>> itemsByOrderId = new HashMap<>();
+        List<Long> ids = new ArrayList<>(orderIds);
+
+        for (int from = 0; from < ids.size(); from += ORDER_ID_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ORDER_ID_BATCH_SIZE, ids.size()));
+            for (OrderItem orderItem : orderItemRepository.findByOrderIdIn(batch)) {
+                OrderItemDto dto = convertToDto(orderItem);
+                itemsByOrderId.computeIfAbsent(dto.orderId(), key -> new ArrayList<>()).add(dto);
+            }
+        }
+        return itemsByOrderId;
     }
 
-    public void addOrderItem(Long orderId, CreateOrderItemRequest request) {
-        createOrderItemInternal(orderId, request.menuItemId(), request.quantity(), request.unitPrice());
+    @Transactional(readOnly = true)
+    public CursorPage<OrderItemDto> getOrderItemsByMenuItemId(Long menuItemId, PageQuery query) {
+        return toPage(orderItemRepository.findByMenuItemId(
+                menuItemId, query.positionById(), PageQuery.BY_ID, query.limit()));
     }
 
-    public void addOrderItem(Long orderId, UpdateOrderItemRequest request) {
-        createOrderItemInternal(orderId, request.menuItemId(), request.quantity(), request.unitPrice());
+    public OrderItemDto createOrderItem(Long orderId, CreateOrderItemRequest request) {
+        return createOrderItemInternal(orderId, request.menuItemId(), request.quantity(), request.unitPrice());
     }
 
     public OrderItemDto updateOrderItem(Long id, UpdateOrderItemRequest request) {
@@ -91,7 +118,12 @@ public class OrderItemService {
     }
 
     public void deleteOrderItemsByOrderId(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         orderItemRepository.deleteByOrderId(orderId);
+
+        // Recalculate order total after deletion
+        updateOrderTotal(order);
     }
 
     // Helper method to set order item fields and calculate subtotal
@@ -105,15 +137,47 @@ public class OrderItemService {
         orderItem.setSubtotal(subtotal);
     }
 
+    /**
+     * Updates the quantity and unit price of an existing line only when they differ,
+     * so unchanged lines are not marked dirty and produce no UPDATE statement.
+     *
+     * @param orderItem The managed order item to update.
+     * @param quantity The requested quantity.
+     * @param unitPrice The requested unit price.
+     */
+    public void applyChanges(OrderItem orderItem, Integer quantity, BigDecimal unitPrice) {
+        boolean quantityChanged = !orderItem.getQuantity().equals(quantity);
+        boolean priceChanged = orderItem.getUnitPrice().compareTo(unitPrice) != 0;
+
+        if (quantityChanged || priceChanged) {
+            setOrderItemFields(orderItem, orderItem.getMenuItemId(), quantity, unitPrice);
+        }
+    }
+
     // Business logic method to update order total amount
     private void updateOrderTotal(Order order) {
         List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-        BigDecimal totalAmount = orderItems.stream()
+        order.setTotalAmount(calculateTotal(orderItems));
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new TableChangedEvent(order.getTableId()));
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(order.getId()));
+    }
+
+    // Business logic method to sum the subtotals of a set of order items
+    public BigDecimal calculateTotal(Collection<OrderItem> orderItems) {
+        return orderItems.stream()
                 .map(OrderItem::getSubtotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-        order.setTotalAmount(totalAmount);
-        orderRepository.save(order);
+    public List<OrderItemDto> convertToDtos(Collection<OrderItem> orderItems) {
+        return orderItems.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private CursorPage<OrderItemDto> toPage(Window<OrderItem> window) {
+        return CursorPage.of(convertToDtos(window.getContent()), window.hasNext(), OrderItemDto::id);
     }
 
     private OrderItemDto convertToDto(OrderItem orderItem) {
@@ -2,34 +2,61 @@ package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.*;
 import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.event.OrderItemsChangedEvent;
+import com.spring.restaurantmanagementsystem.event.OrderStateChangedEvent;
+import com.spring.restaurantmanagementsystem.event.TableChangedEvent;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Order;
 import com.spring.restaurantmanagementsystem.model.OrderItem;
 import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class OrderService {
+    // Number of streamed orders converted, handed over and detached together during an export
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderItemService orderItemService;
+    private final EntityManager entityManager;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderService(OrderRepository orderRepository, OrderItemService orderItemService) {
+    public OrderService(OrderRepository orderRepository, OrderItemService orderItemService,
+                        EntityManager entityManager, OptimisticLockRetry optimisticLockRetry,
+                        ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.orderItemService = orderItemService;
+        this.entityManager = entityManager;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto> getAllOrders(PageQuery query) {
+        return toPage(orderRepository.findAllBy(
+                query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
     }
 
     @Transactional(readOnly = true)
@@ -40,24 +67,46 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByTableId(Long tableId) {
-        return orderRepository.findByTableId(tableId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto> getOrdersByTableId(Long tableId, PageQuery query) {
+        return toPage(orderRepository.findByTableId(
+                tableId, query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto> getOrdersByUserId(Long userId, PageQuery query) {
+        return toPage(orderRepository.findByUserId(
+                userId, query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByCreatedAtBetween(startDate, endDate).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate, PageQuery query) {
+        return toPage(orderRepository.findByCreatedAtBetween(
+                startDate, endDate, query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
+    }
+
+    /**
+     * Streams the orders of a date range in creation order and hands them over in chunks,
+     * detaching every chunk once it has been consumed so memory stays flat for any range.
+     *
+     * @param startDate The start of the range, inclusive.
+     * @param endDate The end of the range, inclusive.
+     * @param chunkConsumer Receives each converted chunk of orders.
+     */
+    @Transactional(readOnly = true)
+    public void streamOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                        Consumer<List<OrderDto>> chunkConsumer) {
+        try (Stream<Order> orders = orderRepository.streamByCreatedAtBetween(startDate, endDate)) {
+            List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    chunkConsumer.accept(convertToDtos(chunk));
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     public OrderDto createOrder(CreateOrderRequest request) {
@@ -66,108 +115,197 @@ public class OrderService {
         order.setUserId(request.userId());
         order.setCustomerCount(request.customerCount());
 
-        // Set order state
-        try {
-            OrderStateEnum orderStateEnum = OrderStateEnum.valueOf(request.orderState().toUpperCase());
-            order.setOrderState(orderStateEnum);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order state: " + request.orderState());
+        // Every order starts out pending; later states are only reached through the transitions
+        OrderStateEnum orderStateEnum = parseOrderState(request.orderState());
+        if (orderStateEnum != OrderStateEnum.PENDING) {
+            throw new IllegalArgumentException("New orders start in PENDING, not " + orderStateEnum);
         }
+        order.setOrderState(orderStateEnum);
 
-        // Initialize with zero total amount (will be calculated when order items are added)
-        order.setTotalAmount(BigDecimal.ZERO);
-
-        Order savedOrder = orderRepository.save(order);
-
-        // Process order items if provided
-        if (request.orderItems() != null && !request.orderItems().isEmpty()) {
+        // Attach all items to the aggregate so they are inserted together with the order
+        if (request.orderItems() != null) {
             for (CreateOrderItemRequest orderItemRequest : request.orderItems()) {
-                orderItemService.addOrderItem(savedOrder.getId(), orderItemRequest);
+                order.getOrderItems().add(new OrderItem(
+                        order,
+                        orderItemRequest.menuItemId(),
+                        orderItemRequest.quantity(),
+                        orderItemRequest.unitPrice()
+                ));
             }
-            // Recalculate total after adding all items
-            calculateAndUpdateTotalAmount(savedOrder.getId());
-            // Fetch updated order with new total
-            savedOrder = orderRepository.findById(savedOrder.getId()).orElse(savedOrder);
         }
 
-        return convertToDto(savedOrder);
+        // Compute the total once in memory instead of after every item
+        order.setTotalAmount(orderItemService.calculateTotal(order.getOrderItems()));
+
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new TableChangedEvent(savedOrder.getTableId()));
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(savedOrder.getId()));
+        return convertToDto(savedOrder, orderItemService.convertToDtos(savedOrder.getOrderItems()));
     }
 
-    public OrderDto updateOrder(Long id, UpdateOrderRequest request) {
+    public OrderDto updateOrder(Long id, UpdateOrderRequest request, Long expectedVersion) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        Versions.requireMatch("Order", id, expectedVersion, order.getVersion());
 
+        Long previousTableId = order.getTableId();
         order.setTableId(request.tableId());
         order.setCustomerCount(request.customerCount());
 
-        // Update order state
-        try {
-            OrderStateEnum orderStateEnum = OrderStateEnum.valueOf(request.orderState().toUpperCase());
-            order.setOrderState(orderStateEnum);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order state: " + request.orderState());
+        // Update order state, if it changes, along the same transitions as updateOrderState
+        OrderStateEnum orderStateEnum = parseOrderState(request.orderState());
+        boolean stateChanged = orderStateEnum != order.getOrderState();
+        if (stateChanged && !order.getOrderState().canTransitionTo(orderStateEnum)) {
+            throw new ConflictException("Cannot move order " + id + " from " + order.getOrderState()
+                    + " to " + orderStateEnum);
         }
+        order.setOrderState(orderStateEnum);
 
-        Order savedOrder = orderRepository.save(order);
-
-        // Process order items if provided
+        // Merge the submitted lines into the existing ones if provided
         if (request.orderItems() != null && !request.orderItems().isEmpty()) {
-            // Remove existing order items
-            orderItemService.deleteOrderItemsByOrderId(id);
+            mergeOrderItems(order, request.orderItems());
+            order.setTotalAmount(orderItemService.calculateTotal(order.getOrderItems()));
+        }
 
-            // Add new order items
-            for (UpdateOrderItemRequest orderItemRequest : request.orderItems()) {
-                orderItemService.addOrderItem(savedOrder.getId(), orderItemRequest);
-            }
+        // Flush so that inserted lines carry their generated ids, and the order its new version, in the response
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        // The order may have moved to another table; both then show a different open total
+        eventPublisher.publishEvent(new TableChangedEvent(previousTableId));
+        if (!previousTableId.equals(savedOrder.getTableId())) {
+            eventPublisher.publishEvent(new TableChangedEvent(savedOrder.getTableId()));
+        }
+        if (stateChanged) {
+            publishStateChange(savedOrder);
+        }
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(id));
+        return convertToDto(savedOrder, orderItemService.convertToDtos(savedOrder.getOrderItems()));
+    }
 
-            // Recalculate total after updating all items
-            calculateAndUpdateTotalAmount(savedOrder.getId());
-            // Fetch updated order with new total
-            savedOrder = orderRepository.findById(savedOrder.getId()).orElse(savedOrder);
+    // Applies the transition with a conditional update instead of load-then-save, so concurrent
+    // kitchen and cashier updates cannot overwrite each other; the order is only read afterwards
+    public OrderDto updateOrderState(Long id, String state, Long expectedVersion) {
+        OrderStateEnum target = parseOrderState(state);
+        Set<OrderStateEnum> expected = target.previousStates();
+        if (expected.isEmpty()
+                || orderRepository.updateOrderState(id, expected, target, LocalDateTime.now(), expectedVersion) == 0) {
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+            Versions.requireMatch("Order", id, expectedVersion, order.getVersion());
+            throw new ConflictException("Cannot move order " + id + " from " + order.getOrderState()
+                    + " to " + target);
         }
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        eventPublisher.publishEvent(new TableChangedEvent(order.getTableId()));
+        publishStateChange(order);
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(id));
+        return convertToDto(order);
+    }
 
-        return convertToDto(savedOrder);
+    /**
+     * Moves the order on as the kitchen starts or finishes it. Unlike updateOrderState this is not
+     * an error when the order already moved past from, for example when a waiter cancelled it.
+     * The caller publishes the change of the order's items that led here.
+     *
+     * @param id The id of the order.
+     * @param from The state the order has to be in.
+     * @param to The state to move it to.
+     */
+    public void advanceOrderState(Long id, OrderStateEnum from, OrderStateEnum to) {
+        if (orderRepository.updateOrderState(id, EnumSet.of(from), to, LocalDateTime.now(), null) > 0) {
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+            eventPublisher.publishEvent(new TableChangedEvent(order.getTableId()));
+            publishStateChange(order);
+        }
     }
 
-    public OrderDto updateOrderState(Long id, String state) {
+    public void deleteOrder(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        orderRepository.delete(order);
+        eventPublisher.publishEvent(new TableChangedEvent(order.getTableId()));
+        eventPublisher.publishEvent(new OrderItemsChangedEvent(id));
+    }
 
-        try {
-            OrderStateEnum orderStateEnum = OrderStateEnum.valueOf(state.toUpperCase());
-            order.setOrderState(orderStateEnum);
+    // Business logic method to calculate total amount from order items. Recomputing is safe to
+    // repeat, so a lost optimistic lock race is retried on the fresh items
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void calculateAndUpdateTotalAmount(Long orderId) {
+        optimisticLockRetry.execute(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+            order.setTotalAmount(orderItemService.calculateTotal(order.getOrderItems()));
+            eventPublisher.publishEvent(new TableChangedEvent(order.getTableId()));
+            return orderRepository.save(order);
+        });
+    }
 
-            Order savedOrder = orderRepository.save(order);
-            return convertToDto(savedOrder);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid order state: " + state);
+    private void publishStateChange(Order order) {
+        eventPublisher.publishEvent(new OrderStateChangedEvent(order.getId(), order.getTableId(),
+                order.getOrderState().name(), order.getVersion()));
+    }
+
+    // Applies the submitted lines as a diff against the current ones, matched by menu item:
+    // changed lines are updated in place, new lines inserted and missing lines removed
+    private void mergeOrderItems(Order order, List<UpdateOrderItemRequest> requestedItems) {
+        Map<Long, Deque<OrderItem>> existingByMenuItem = new HashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            existingByMenuItem.computeIfAbsent(orderItem.getMenuItemId(), key -> new ArrayDeque<>()).add(orderItem);
+        }
+
+        List<OrderItem> mergedItems = new ArrayList<>();
+        for (UpdateOrderItemRequest requestedItem : requestedItems) {
+            Deque<OrderItem> candidates = existingByMenuItem.get(requestedItem.menuItemId());
+            OrderItem existing = candidates != null ? candidates.poll() : null;
+
+            if (existing == null) {
+                mergedItems.add(new OrderItem(order, requestedItem.menuItemId(),
+                        requestedItem.quantity(), requestedItem.unitPrice()));
+            } else {
+                orderItemService.applyChanges(existing, requestedItem.quantity(), requestedItem.unitPrice());
+                mergedItems.add(existing);
+            }
+        }
+
+        // orphanRemoval deletes the lines that are no longer part of the order
+        order.getOrderItems().retainAll(mergedItems);
+        for (OrderItem mergedItem : mergedItems) {
+            if (mergedItem.getId() == null) {
+                order.getOrderItems().add(mergedItem);
+            }
         }
     }
 
-    public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Order not found with id: " + id);
+    private OrderStateEnum parseOrderState(String state) {
+        try {
+            return OrderStateEnum.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid order state: " + state);
         }
-        orderRepository.deleteById(id);
     }
 
-    // Business logic method to calculate total amount from order items
-    public void calculateAndUpdateTotalAmount(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    private CursorPage<OrderDto> toPage(Window<Order> window) {
+        return CursorPage.of(convertToDtos(window.getContent()), window.hasNext(), OrderDto::id, OrderDto::createdAt);
+    }
 
-        BigDecimal totalAmount = order.getOrderItems().stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Converts a list of orders, loading the items of all of them in batched queries
+    private List<OrderDto> convertToDtos(List<Order> orders) {
+        Map<Long, List<OrderItemDto>> itemsByOrderId = orderItemService.getOrderItemsByOrderIds(
+                orders.stream().map(Order::getId).toList());
 
-        order.setTotalAmount(totalAmount);
-        orderRepository.save(order);
+        return orders.stream()
+                .map(order -> convertToDto(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     private OrderDto convertToDto(Order order) {
         // Get order items for this order using OrderItemService
-        List<OrderItemDto> orderItems = orderItemService.getOrderItemsByOrderId(order.getId());
+        return convertToDto(order, orderItemService.getOrderItemsByOrderId(order.getId()));
+    }
 
+    private OrderDto convertToDto(Order order, List<OrderItemDto> orderItems) {
         return new OrderDto(
                 order.getId(),
                 order.getTableId(),
@@ -177,7 +315,8 @@ public class OrderService {
                 orderItems,
                 order.getTotalAmount(),
                 order.getOrderState().name(),
-                order.getCustomerCount()
+                order.getCustomerCount(),
+                order.getVersion()
         );
     }
 }
@@ -1,6 +1,8 @@
 package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.CreatePaymentRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.PaymentDto;
 import com.spring.restaurantmanagementsystem.dto.UpdatePaymentRequest;
 import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
@@ -8,27 +10,32 @@ import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Payment;
 import com.spring.restaurantmanagementsystem.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class PaymentService {
     private final PaymentRepository paymentRepository;
+    private final EntityManager entityManager;
 
-    public PaymentService(PaymentRepository paymentRepository) {
+    public PaymentService(PaymentRepository paymentRepository, EntityManager entityManager) {
         this.paymentRepository = paymentRepository;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentDto> getAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentDto> getAllPayments(PageQuery query) {
+        return toPage(paymentRepository.findAllBy(
+                query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
     }
 
     @Transactional(readOnly = true)
@@ -46,22 +53,39 @@ public class PaymentService {
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentDto> getPaymentsByStatus(String status) {
+    public CursorPage<PaymentDto> getPaymentsByStatus(String status, PageQuery query) {
         try {
             PaymentStatusEnum paymentStatusEnum = PaymentStatusEnum.valueOf(status.toUpperCase());
-            return paymentRepository.findByPaymentStatus(paymentStatusEnum).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            return toPage(paymentRepository.findByPaymentStatus(
+                    paymentStatusEnum, query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid payment status: " + status);
         }
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentDto> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return paymentRepository.findByCreatedAtBetween(startDate, endDate).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentDto> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate, PageQuery query) {
+        return toPage(paymentRepository.findByCreatedAtBetween(
+                startDate, endDate, query.positionByCreatedAt(), PageQuery.BY_CREATED_AT, query.limit()));
+    }
+
+    /**
+     * Streams the payments of a date range in creation order, detaching every
+     * payment once it has been handed over so memory stays flat for any range.
+     *
+     * @param startDate The start of the range, inclusive.
+     * @param endDate The end of the range, inclusive.
+     * @param paymentConsumer Receives each converted payment.
+     */
+    @Transactional(readOnly = true)
+    public void streamPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                          Consumer<PaymentDto> paymentConsumer) {
+        try (Stream<Payment> payments = paymentRepository.streamByCreatedAtBetween(startDate, endDate)) {
+            payments.forEach(payment -> {
+                paymentConsumer.accept(convertToDto(payment));
+                entityManager.detach(payment);
+            });
+        }
     }
 
     public PaymentDto createPayment(CreatePaymentRequest request) {
@@ -73,25 +97,28 @@ public class PaymentService {
         return convertToDto(savedPayment);
     }
 
-    public PaymentDto updatePayment(Long id, UpdatePaymentRequest request) {
+    public PaymentDto updatePayment(Long id, UpdatePaymentRequest request, Long expectedVersion) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        Versions.requireMatch("Payment", id, expectedVersion, payment.getVersion());
 
         setBasicPaymentFields(payment, request.amount(), request.paymentMethod(), request.paymentStatus());
 
-        Payment savedPayment = paymentRepository.save(payment);
+        // Flush so the response carries the incremented version
+        Payment savedPayment = paymentRepository.saveAndFlush(payment);
         return convertToDto(savedPayment);
     }
 
-    public PaymentDto updatePaymentStatus(Long id, String status) {
+    public PaymentDto updatePaymentStatus(Long id, String status, Long expectedVersion) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        Versions.requireMatch("Payment", id, expectedVersion, payment.getVersion());
 
         try {
             PaymentStatusEnum paymentStatusEnum = PaymentStatusEnum.valueOf(status.toUpperCase());
             payment.setPaymentStatus(paymentStatusEnum);
 
-            Payment savedPayment = paymentRepository.save(payment);
+            Payment savedPayment = paymentRepository.saveAndFlush(payment);
             return convertToDto(savedPayment);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid payment status: " + status);
@@ -125,6 +152,13 @@ public class PaymentService {
         }
     }
 
+    private CursorPage<PaymentDto> toPage(Window<Payment> window) {
+        List<PaymentDto> payments = window.getContent().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(payments, window.hasNext(), PaymentDto::id, PaymentDto::createdAt);
+    }
+
     private PaymentDto convertToDto(Payment payment) {
         return new PaymentDto(
                 payment.getId(),
@@ -132,7 +166,8 @@ public class PaymentService {
                 payment.getPaymentMethod().name(),
                 payment.getPaymentStatus().name(),
                 payment.getOrderId(),
-                payment.getCreatedAt()
+                payment.getCreatedAt(),
+                payment.getVersion()
         );
     }
 }
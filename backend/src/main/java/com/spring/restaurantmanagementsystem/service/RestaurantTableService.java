@@ -1,13 +1,23 @@
 package com.spring.restaurantmanagementsystem.service;
 
+import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
 import com.spring.restaurantmanagementsystem.dto.CreateRestaurantTableRequest;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
 import com.spring.restaurantmanagementsystem.dto.RestaurantTableDto;
+import com.spring.restaurantmanagementsystem.dto.SeatTableRequest;
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+import com.spring.restaurantmanagementsystem.dto.TableBoardEntry;
 import com.spring.restaurantmanagementsystem.dto.UpdateRestaurantTableRequest;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
 import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import com.spring.restaurantmanagementsystem.event.TableChangedEvent;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.RestaurantTable;
 import com.spring.restaurantmanagementsystem.repository.RestaurantTableRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -17,18 +27,34 @@ import java.util.stream.Collectors;
 @Transactional
 public class RestaurantTableService {
     private final RestaurantTableRepository restaurantTableRepository;
-
-    public RestaurantTableService(RestaurantTableRepository restaurantTableRepository) {
+    private final OrderService orderService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final TableBoard tableBoard;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RestaurantTableService(RestaurantTableRepository restaurantTableRepository, OrderService orderService,
+                                  OptimisticLockRetry optimisticLockRetry, TableBoard tableBoard,
+                                  ApplicationEventPublisher eventPublisher) {
         this.restaurantTableRepository = restaurantTableRepository;
+        this.orderService = orderService;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.tableBoard = tableBoard;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional(readOnly = true)
+    // Served from the in-memory floor plan, which the write methods below keep up to date
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<RestaurantTableDto> getAllTables() {
-        return restaurantTableRepository.findAll().stream()
+        return tableBoard.tables().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TableBoardChanges getTableBoardChanges(String since) {
+        return tableBoard.changesSince(since);
+    }
+
     @Transactional(readOnly = true)
     public RestaurantTableDto getTableById(Long id) {
         RestaurantTable table = restaurantTableRepository.findById(id)
@@ -43,16 +69,13 @@ public class RestaurantTableService {
         return convertToDto(table);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<RestaurantTableDto> getTablesByState(String state) {
-        try {
-            TableStateEnum tableStateEnum = TableStateEnum.valueOf(state.toUpperCase());
-            return restaurantTableRepository.findByTableState(tableStateEnum).stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid table state: " + state);
-        }
+        String tableState = parseTableState(state).name();
+        return tableBoard.tables().stream()
+                .filter(entry -> entry.tableState().equals(tableState))
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
     }
 
     public RestaurantTableDto createTable(CreateRestaurantTableRequest request) {
@@ -65,12 +88,14 @@ public class RestaurantTableService {
         setBasicTableFields(table, request.number(), request.tableState());
 
         RestaurantTable savedTable = restaurantTableRepository.save(table);
+        eventPublisher.publishEvent(new TableChangedEvent(savedTable.getId()));
         return convertToDto(savedTable);
     }
 
-    public RestaurantTableDto updateTable(Long id, UpdateRestaurantTableRequest request) {
+    public RestaurantTableDto updateTable(Long id, UpdateRestaurantTableRequest request, Long expectedVersion) {
         RestaurantTable table = restaurantTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + id));
+        Versions.requireMatch("Table", id, expectedVersion, table.getVersion());
 
         // Check if number is being changed and if new number already exists
         if (!table.getNumber().equals(request.number()) &&
@@ -81,39 +106,78 @@ public class RestaurantTableService {
         setBasicTableFields(table, request.number(), request.tableState());
         table.setCurrentOrderId(request.currentOrderId());
 
-        RestaurantTable savedTable = restaurantTableRepository.save(table);
+        // Flush so the response carries the incremented version
+        RestaurantTable savedTable = restaurantTableRepository.saveAndFlush(table);
+        eventPublisher.publishEvent(new TableChangedEvent(id));
         return convertToDto(savedTable);
     }
 
-    public RestaurantTableDto updateTableState(Long id, String state) {
+    // Not retried: the state was chosen by someone looking at the table, so a concurrent change
+    // is reported as a 409 for them to look again rather than overwritten
+    public RestaurantTableDto updateTableState(Long id, String state, Long expectedVersion) {
+        TableStateEnum tableStateEnum = parseTableState(state);
+
         RestaurantTable table = restaurantTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + id));
+        Versions.requireMatch("Table", id, expectedVersion, table.getVersion());
 
-        try {
-            TableStateEnum tableStateEnum = TableStateEnum.valueOf(state.toUpperCase());
-            table.setTableState(tableStateEnum);
-
-            // Clear current order if table becomes available
-            if (tableStateEnum == TableStateEnum.AVAILABLE) {
-                table.setCurrentOrderId(null);
-            }
+        table.setTableState(tableStateEnum);
 
-            RestaurantTable savedTable = restaurantTableRepository.save(table);
-            return convertToDto(savedTable);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid table state: " + state);
+        // Clear current order if table becomes available
+        if (tableStateEnum == TableStateEnum.AVAILABLE) {
+            table.setCurrentOrderId(null);
         }
+
+        RestaurantTable savedTable = restaurantTableRepository.saveAndFlush(table);
+        eventPublisher.publishEvent(new TableChangedEvent(id));
+        return convertToDto(savedTable);
     }
 
-    public RestaurantTableDto assignOrderToTable(Long tableId, Long orderId) {
-        RestaurantTable table = restaurantTableRepository.findById(tableId)
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + tableId));
+    // Seats the order unless the table already serves another one; the check is repeated
+    // on every retry, so of two waiters seating the same table only the first one wins
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public RestaurantTableDto assignOrderToTable(Long tableId, Long orderId, Long expectedVersion) {
+        return optimisticLockRetry.execute(() -> {
+            RestaurantTable table = restaurantTableRepository.findById(tableId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + tableId));
+            Versions.requireMatch("Table", tableId, expectedVersion, table.getVersion());
+
+            if (table.getCurrentOrderId() != null && !table.getCurrentOrderId().equals(orderId)) {
+                throw new ConflictException("Table " + tableId + " is already serving order "
+                        + table.getCurrentOrderId());
+            }
 
-        table.setCurrentOrderId(orderId);
-        table.setTableState(TableStateEnum.OCCUPIED);
+            table.setCurrentOrderId(orderId);
+            table.setTableState(TableStateEnum.OCCUPIED);
 
-        RestaurantTable savedTable = restaurantTableRepository.save(table);
-        return convertToDto(savedTable);
+            RestaurantTable savedTable = restaurantTableRepository.saveAndFlush(table);
+            eventPublisher.publishEvent(new TableChangedEvent(tableId));
+            return convertToDto(savedTable);
+        });
+    }
+
+    /**
+     * Opens a new order for a party and seats it at an available table, in one transaction.
+     * The order gets its id from the sequence without being written, so the table is claimed
+     * first with a single conditional update. Only the winner of a race writes its order; the
+     * others get a 409 and leave nothing behind.
+     *
+     * @param tableId The table to seat the party at.
+     * @param request The waiter, the party size and the first order lines, if any.
+     * @return The new order, in state PENDING.
+     * @throws ConflictException If the table is not available.
+     */
+    public OrderDto seatTable(Long tableId, SeatTableRequest request) {
+        OrderDto order = orderService.createOrder(new CreateOrderRequest(tableId, request.userId(),
+                request.orderItems(), OrderStateEnum.PENDING.name(), request.customerCount()));
+
+        if (restaurantTableRepository.seatOrder(tableId, order.id()) == 0) {
+            RestaurantTable table = restaurantTableRepository.findById(tableId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + tableId));
+            throw new ConflictException("Table " + tableId + " is " + table.getTableState() + ", not AVAILABLE");
+        }
+        eventPublisher.publishEvent(new TableChangedEvent(tableId));
+        return order;
     }
 
     public void deleteTable(Long id) {
@@ -126,25 +190,43 @@ public class RestaurantTableService {
         }
 
         restaurantTableRepository.deleteById(id);
+        eventPublisher.publishEvent(new TableChangedEvent(id));
     }
 
     private void setBasicTableFields(RestaurantTable table, Integer number, String state) {
+        // The floor plan orders and identifies tables by number
+        if (number == null || number < 1) {
+            throw new IllegalArgumentException("Table number must be positive");
+        }
         table.setNumber(number);
+        table.setTableState(parseTableState(state));
+    }
 
+    private TableStateEnum parseTableState(String state) {
         try {
-            TableStateEnum tableStateEnum = TableStateEnum.valueOf(state.toUpperCase());
-            table.setTableState(tableStateEnum);
+            return TableStateEnum.valueOf(state.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid table state: " + state);
         }
     }
 
+    private RestaurantTableDto convertToDto(TableBoardEntry entry) {
+        return new RestaurantTableDto(
+                entry.tableId(),
+                entry.number(),
+                entry.currentOrderId(),
+                entry.tableState(),
+                entry.version()
+        );
+    }
+
     private RestaurantTableDto convertToDto(RestaurantTable table) {
         return new RestaurantTableDto(
                 table.getId(),
                 table.getNumber(),
                 table.getCurrentOrderId(),
-                table.getTableState().name()
+                table.getTableState().name(),
+                table.getVersion()
         );
     }
 }
@@ -0,0 +1,63 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the server-sent event channels and runs what they share: the virtual threads that
+ * write to subscribers, the heartbeat that keeps idle connections open through proxies and
+ * finds the clients that went away, and an "events.subscribers" gauge per channel.
+ * Event ids carry the process start, so ids from before a restart are never replayed.
+ */
+@Component
+public class ServerSentEvents {
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final List<SseChannel> channels = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("sse-heartbeat").factory());
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    public ServerSentEvents(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${app.events.buffer-size:1024}") int bufferSize,
+                            @Value("${app.events.timeout:PT30M}") Duration timeout,
+                            @Value("${app.events.heartbeat:PT25S}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        heartbeats.scheduleAtFixedRate(() -> channels.forEach(SseChannel::heartbeat),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    SseChannel channel(String name) {
+        SseChannel channel = new SseChannel(epoch, objectMapper, sender, bufferSize, timeout.toMillis());
+        channels.add(channel);
+        Gauge.builder("events.subscribers", channel, SseChannel::subscriberCount)
+                .tag("channel", name)
+                .register(meterRegistry);
+        return channel;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        channels.forEach(SseChannel::close);
+        sender.shutdown();
+    }
+}
@@ -1,6 +1,8 @@
 package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.CreateShiftRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.ShiftDto;
 import com.spring.restaurantmanagementsystem.dto.UpdateShiftRequest;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
@@ -8,6 +10,7 @@ import com.spring.restaurantmanagementsystem.model.Shift;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.ShiftRepository;
 import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,10 +27,8 @@ public class ShiftService {
         this.userRepository = userRepository;
     }
 
-    public List<ShiftDto> getAllShifts() {
-        return shiftRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<ShiftDto> getAllShifts(PageQuery query) {
+        return toPage(shiftRepository.findAllBy(query.positionById(), PageQuery.BY_ID, query.limit()));
     }
 
     public ShiftDto getShiftById(Long id) {
@@ -36,15 +37,13 @@ public class ShiftService {
         return convertToDto(shift);
     }
 
-    public List<ShiftDto> getShiftsByUserId(Long userId) {
+    public CursorPage<ShiftDto> getShiftsByUserId(Long userId, PageQuery query) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
 
-        return shiftRepository.findByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return toPage(shiftRepository.findByUserId(userId, query.positionById(), PageQuery.BY_ID, query.limit()));
     }
 
     @Transactional
@@ -90,6 +89,13 @@ public class ShiftService {
         shiftRepository.deleteById(id);
     }
 
+    private CursorPage<ShiftDto> toPage(Window<Shift> window) {
+        List<ShiftDto> shifts = window.getContent().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(shifts, window.hasNext(), ShiftDto::id);
+    }
+
     private ShiftDto convertToDto(Shift shift) {
         return new ShiftDto(
                 shift.getId(),
@@ -0,0 +1,201 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One stream of server-sent events with its subscribers. Each event is serialized once into a
+ * bounded ring buffer and numbered per process start, so a reconnecting client resumes after its
+ * Last-Event-ID. A client whose id is no longer buffered, or comes from before a restart, gets a
+ * "reset" event and reloads its view instead.
+ * Publishing only appends and wakes the subscribers; each subscriber is drained by at most one
+ * task at a time, so a slow connection holds up nobody but itself, and one that falls a whole
+ * buffer behind is reset the same way. Channels are created by {@link ServerSentEvents}.
+ */
+final class SseChannel {
+    static final String RESET_EVENT = "reset";
+
+    private final String epoch;
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slot seq % length holds event seq; appends are guarded by bufferLock, head is read without it
+    private final StreamedEvent[] buffer;
+    // Not a monitor, so waiting for it does not pin the carrier of a virtual thread
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private volatile long head;
+
+    SseChannel(String epoch, ObjectMapper objectMapper, Executor sender, int bufferSize, long timeoutMillis) {
+        this.epoch = epoch;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.buffer = new StreamedEvent[bufferSize];
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, resumeAfter(lastEventId));
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.wake();
+        return emitter;
+    }
+
+    void publish(String name, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render " + name + " event", e);
+        }
+
+        bufferLock.lock();
+        try {
+            long seq = head + 1;
+            buffer[(int) (seq % buffer.length)] = new StreamedEvent(seq, name, data);
+            head = seq;
+        } finally {
+            bufferLock.unlock();
+        }
+        subscribers.forEach(Subscriber::wake);
+    }
+
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.wake();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // Null when the events after seq are no longer, or never were, in the buffer
+    private List<StreamedEvent> eventsAfter(long seq) {
+        bufferLock.lock();
+        try {
+            if (seq < 0 || seq > head || seq < head - buffer.length) {
+                return null;
+            }
+            List<StreamedEvent> events = new ArrayList<>((int) (head - seq));
+            for (long next = seq + 1; next <= head; next++) {
+                events.add(buffer[(int) (next % buffer.length)]);
+            }
+            return events;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // The sequence number to continue after: now for a new client, -1 for an id this process did not issue
+    private long resumeAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return head;
+        }
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String idOf(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private record StreamedEvent(long seq, String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Only touched by the one drain running at a time
+        private long lastSent;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        void wake() {
+            if (closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void drain() {
+            do {
+                try {
+                    deliver();
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+                draining.set(false);
+                // An event appended after deliver() read the buffer, but before the flag was cleared,
+                // found the drain still running and is picked up here
+            } while (!closed && (heartbeatDue || lastSent != head) && draining.compareAndSet(false, true));
+        }
+
+        private void deliver() throws IOException {
+            List<StreamedEvent> pending = eventsAfter(lastSent);
+            if (pending == null) {
+                // Too far behind to replay: the client reloads its view and continues from the newest event
+                long newest = head;
+                emitter.send(SseEmitter.event().id(idOf(newest)).name(RESET_EVENT).data("{}"));
+                lastSent = newest;
+                return;
+            }
+            for (StreamedEvent event : pending) {
+                emitter.send(SseEmitter.event().id(idOf(event.seq())).name(event.name()).data(event.data()));
+                lastSent = event.seq();
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                if (pending.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+import com.spring.restaurantmanagementsystem.dto.TableBoardEntry;
+import com.spring.restaurantmanagementsystem.event.TableBoardChangedEvent;
+import com.spring.restaurantmanagementsystem.event.TableChangedEvent;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.model.RestaurantTable;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import com.spring.restaurantmanagementsystem.repository.RestaurantTableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory floor plan: every table with its state, current order, open total and seated time,
+ * held in an immutable snapshot ordered by table number. Reads are a volatile load and never
+ * touch the database. Every committed change to a table or its open order re-reads that one
+ * table and installs a copy of the snapshot with the new entry and the next board version, so
+ * clients can ask for the changes since the version they last saw. Versions are handed out as
+ * tokens with the process start, so a version from before a restart is never taken for a current one.
+ * The re-read runs before taking the lock, so a writer's listener never waits for another one
+ * while it holds a connection. Refreshes that finish out of order are told apart by the versions
+ * of the table and order rows they read, and one that read older rows than the board holds is
+ * dropped. A refresh that fails drops the whole board, which the next read loads again.
+ * Each new version is published with its own changes while the lock is held, so listeners see
+ * versions in order.
+ */
+@Component
+public class TableBoard {
+    private static final Logger log = LoggerFactory.getLogger(TableBoard.class);
+    private static final Comparator<Slot> BY_NUMBER = Comparator.comparingInt(Slot::number);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final RestaurantTableRepository restaurantTableRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    // Guarded by writeLock. Ids are never reused, so a refresh that read a table before it was deleted cannot
+    // bring it back, and the last version outlives a dropped board, so a reloaded one continues after it.
+    private final Set<Long> deletedTableIds = new HashSet<>();
+    private long lastVersion;
+    private volatile Snapshot snapshot;
+
+    public TableBoard(RestaurantTableRepository restaurantTableRepository, OrderRepository orderRepository,
+                      PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.restaurantTableRepository = restaurantTableRepository;
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        // Loads run after the writer's commit, in a transaction of their own with a fresh persistence context
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return Every table in order of table number.
+     */
+    public List<TableBoardEntry> tables() {
+        return current().tables();
+    }
+
+    /**
+     * @return The version of the board; it grows by one with every change.
+     */
+    public long version() {
+        return current().version;
+    }
+
+    /**
+     * @param since The version token of the board the client last saw; null for the whole board.
+     * @return The entries changed and the tables removed after that version, or the whole board
+     * for a token this process did not issue.
+     */
+    public TableBoardChanges changesSince(String since) {
+        return current().changesSince(versionOf(since));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        Row row;
+        try {
+            row = readTransaction.execute(status -> load(event.tableId()));
+        } catch (RuntimeException e) {
+            // The board would otherwise miss this change for good
+            log.warn("Could not refresh table {} on the board, reloading the board on its next read",
+                    event.tableId(), e);
+            writeLock.lock();
+            try {
+                snapshot = null;
+            } finally {
+                writeLock.unlock();
+            }
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (row == null) {
+                deletedTableIds.add(event.tableId());
+            } else if (deletedTableIds.contains(event.tableId())) {
+                return;
+            }
+            // Not loaded yet: the first read loads the committed change with everything else
+            Snapshot previous = snapshot;
+            if (previous != null) {
+                snapshot = previous.with(event.tableId(), row);
+                if (snapshot != previous) {
+                    lastVersion = snapshot.version;
+                    eventPublisher.publishEvent(new TableBoardChangedEvent(snapshot.changesSince(previous.version)));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The board version in a token of this process, or -1 for any other token
+    private long versionOf(String token) {
+        if (token == null) {
+            return -1;
+        }
+        int separator = token.indexOf('-');
+        if (separator < 0 || !token.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                boolean reload = lastVersion > 0;
+                snapshot = Snapshot.of(epoch, ++lastVersion, readTransaction.execute(status -> loadAll()));
+                if (reload) {
+                    // Changes were lost with the dropped board, so streaming clients get the whole board
+                    eventPublisher.publishEvent(new TableBoardChangedEvent(snapshot.changesSince(0)));
+                }
+            }
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<Row> loadAll() {
+        List<RestaurantTable> tables = restaurantTableRepository.findAll();
+        Map<Long, Order> ordersById = orderRepository.findAllById(tables.stream()
+                        .map(RestaurantTable::getCurrentOrderId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return tables.stream()
+                .map(table -> toRow(table, ordersById.get(table.getCurrentOrderId())))
+                .toList();
+    }
+
+    // Returns null when the table no longer exists
+    private Row load(Long tableId) {
+        return restaurantTableRepository.findById(tableId)
+                .map(table -> toRow(table, table.getCurrentOrderId() == null ? null
+                        : orderRepository.findById(table.getCurrentOrderId()).orElse(null)))
+                .orElse(null);
+    }
+
+    private Row toRow(RestaurantTable table, Order order) {
+        boolean open = order != null && !order.getOrderState().nextStates().isEmpty();
+        TableBoardEntry entry = new TableBoardEntry(
+                table.getId(),
+                table.getNumber(),
+                table.getTableState().name(),
+                table.getCurrentOrderId(),
+                open ? order.getTotalAmount() : null,
+                open ? order.getCreatedAt() : null,
+                table.getVersion(),
+                0
+        );
+        return new Row(entry, order == null ? -1 : order.getVersion());
+    }
+
+    // An entry as read, with the version of the order it was read with (-1 without one)
+    private record Row(TableBoardEntry entry, long orderVersion) {
+
+        // The table version changes with the current order, so order versions are only compared for the same one
+        boolean isOlderThan(Slot slot) {
+            int byTable = Long.compare(entry.version(), slot.entry().version());
+            return byTable < 0 || byTable == 0 && orderVersion < slot.orderVersion();
+        }
+    }
+
+    // Copy-on-write board: one slot per table number in use, in number order, so its size follows the
+    // number of tables rather than the highest number. A slot without an entry is a removed table.
+    // Changes are only known from the version the board was loaded at.
+    private record Snapshot(String epoch, long loadedAt, long version, Slot[] slots) {
+
+        static Snapshot of(String epoch, long version, List<Row> rows) {
+            Slot[] slots = rows.stream()
+                    .sorted(Comparator.comparingInt(row -> row.entry().number()))
+                    .map(row -> new Slot(row.entry().number(), withBoardVersion(row.entry(), version),
+                            row.orderVersion(), version))
+                    .toArray(Slot[]::new);
+            return new Snapshot(epoch, version, version, slots);
+        }
+
+        Snapshot with(Long tableId, Row row) {
+            int previousAt = positionOf(tableId);
+            TableBoardEntry previous = previousAt < 0 ? null : slots[previousAt].entry();
+            if (row == null ? previous == null : previous != null && row.isOlderThan(slots[previousAt])) {
+                return this;
+            }
+            // Order changes that do not show on the floor plan, and repeated events of one commit, are no change
+            TableBoardEntry entry = row == null ? null : row.entry();
+            if (entry != null && previous != null && withBoardVersion(entry, 0).equals(withBoardVersion(previous, 0))) {
+                return this;
+            }
+
+            long next = version + 1;
+            Slot[] nextSlots = slots;
+            if (entry != null) {
+                int at = Arrays.binarySearch(slots, new Slot(entry.number(), null, -1, 0), BY_NUMBER);
+                Slot slot = new Slot(entry.number(), withBoardVersion(entry, next), row.orderVersion(), next);
+                if (at >= 0) {
+                    nextSlots = slots.clone();
+                    nextSlots[at] = slot;
+                } else {
+                    // A number not used before: insert its slot in order
+                    int insertAt = -at - 1;
+                    nextSlots = new Slot[slots.length + 1];
+                    System.arraycopy(slots, 0, nextSlots, 0, insertAt);
+                    nextSlots[insertAt] = slot;
+                    System.arraycopy(slots, insertAt, nextSlots, insertAt + 1, slots.length - insertAt);
+                }
+            }
+            // Clear the slot the table held before, unless it keeps its number
+            if (previous != null && (entry == null || !previous.number().equals(entry.number()))) {
+                if (nextSlots == slots) {
+                    nextSlots = slots.clone();
+                }
+                int at = Arrays.binarySearch(nextSlots, slots[previousAt], BY_NUMBER);
+                nextSlots[at] = new Slot(previous.number(), null, -1, next);
+            }
+            return new Snapshot(epoch, loadedAt, next, nextSlots);
+        }
+
+        private int positionOf(Long tableId) {
+            for (int i = 0; i < slots.length; i++) {
+                TableBoardEntry entry = slots[i].entry();
+                if (entry != null && entry.tableId().equals(tableId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        List<TableBoardEntry> tables() {
+            List<TableBoardEntry> tables = new ArrayList<>(slots.length);
+            for (Slot slot : slots) {
+                if (slot.entry() != null) {
+                    tables.add(slot.entry());
+                }
+            }
+            return tables;
+        }
+
+        TableBoardChanges changesSince(long since) {
+            if (since < loadedAt || since > version) {
+                return new TableBoardChanges(token(), true, tables(), List.of());
+            }
+            List<TableBoardEntry> changed = new ArrayList<>();
+            List<Integer> removed = new ArrayList<>();
+            for (Slot slot : slots) {
+                if (slot.changedAt() > since) {
+                    if (slot.entry() != null) {
+                        changed.add(slot.entry());
+                    } else {
+                        removed.add(slot.number());
+                    }
+                }
+            }
+            return new TableBoardChanges(token(), false, changed, removed);
+        }
+
+        private String token() {
+            return epoch + "-" + version;
+        }
+
+        private static TableBoardEntry withBoardVersion(TableBoardEntry entry, long boardVersion) {
+            return new TableBoardEntry(entry.tableId(), entry.number(), entry.tableState(), entry.currentOrderId(),
+                    entry.openTotal(), entry.seatedAt(), entry.version(), boardVersion);
+        }
+    }
+
+    // One table number on the board with the table at it, the version of that table's order, and the
+    // board version it last changed at
+    private record Slot(int number, TableBoardEntry entry, long orderVersion, long changedAt) {
+    }
+}
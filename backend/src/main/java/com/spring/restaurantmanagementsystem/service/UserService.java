@@ -1,7 +1,7 @@
 package com.spring.restaurantmanagementsystem.service;
 
-import com.spring.restaurantmanagementsystem.model.User;
-import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.security.UserAccount;
+import com.spring.restaurantmanagementsystem.security.UserCache;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -9,13 +9,13 @@ import java.util.Optional;
 @Service
 public class UserService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public UserService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserService(UserCache userCache) {
+        this.userCache = userCache;
     }
 
-    public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+    public Optional<UserAccount> findByUsername(String username) {
+        return userCache.findByUsername(username);
     }
-}
\ No newline at end of file
+}
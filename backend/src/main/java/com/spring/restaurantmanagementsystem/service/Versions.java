@@ -0,0 +1,26 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.exception.PreconditionFailedException;
+
+/**
+ * Checks the If-Match version a client sent against the version of the row it wants to change.
+ */
+final class Versions {
+
+    private Versions() {
+    }
+
+    /**
+     * @param resource The resource name for the error message, e.g. "Order".
+     * @param id The id of the resource.
+     * @param expected The version the client last saw, or null for an unconditional write.
+     * @param current The version that was just read.
+     * @throws PreconditionFailedException If the client's copy is stale.
+     */
+    static void requireMatch(String resource, Long id, Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new PreconditionFailedException(resource + " " + id + " is at version " + current
+                    + ", not " + expected);
+        }
+    }
+}
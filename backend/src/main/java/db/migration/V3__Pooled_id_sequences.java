@@ -0,0 +1,43 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Replaces the identity columns with one sequence per table, which lets Hibernate reserve ids
+ * in blocks and batch inserts (identity ids are only known after each row is inserted).
+ * A Java migration because the sequences must start past the ids already in use, and neither
+ * Postgres nor H2 accepts a query there in plain SQL.
+ * The increment is fixed here rather than read from PersistenceConfig, so an applied migration
+ * keeps meaning what it did when it ran.
+ */
+public class V3__Pooled_id_sequences extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of(
+            "allergens", "categories", "order_state", "payment_method", "payment_statuses", "table_state",
+            "roles", "users", "shifts", "tables", "menu_items", "orders", "order_items", "payments");
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    result.next();
+                    maxId = result.getLong(1);
+                }
+                // The pooled optimizer hands out the block that ends at the value it reads,
+                // so the first value is one block past the highest existing id
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + (maxId + INCREMENT)
+                        + " INCREMENT BY " + INCREMENT);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+            }
+        }
+    }
+}
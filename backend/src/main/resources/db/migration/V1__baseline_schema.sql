@@ -0,0 +1,128 @@
+-- Schema as Hibernate created it with ddl-auto before migrations were introduced.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only run the later migrations.
+
+create table allergens (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique check (name in ('GLUTEN','DAIRY','EGGS','FISH','SHELLFISH','TREE_NUTS','PEANUTS','SOY','SESAME','SULFITES','MUSTARD','CELERY','LUPIN','MOLLUSKS')),
+    primary key (id)
+);
+
+create table categories (
+    id bigint generated by default as identity,
+    category varchar(20) not null unique check (category in ('STARTER','MAIN','DESSERT','BEVERAGE','ADDITIONAL')),
+    primary key (id)
+);
+
+create table order_state (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique check (name in ('PENDING','PREPARING','READY','SERVED','PAID','CANCELLED')),
+    primary key (id)
+);
+
+create table payment_method (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique check (name in ('CASH','CARD','SPLIT')),
+    primary key (id)
+);
+
+create table payment_statuses (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique check (name in ('PENDING','COMPLETED','FAILED','REFUNDED')),
+    primary key (id)
+);
+
+create table table_state (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique check (name in ('AVAILABLE','OCCUPIED','RESERVED','OUT_OF_SERVICE')),
+    primary key (id)
+);
+
+create table roles (
+    id bigint generated by default as identity,
+    name varchar(20) not null unique check (name in ('ADMIN','CASHIER','WAITER')),
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    email varchar(255) not null unique,
+    primary key (id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (role_id, user_id),
+    constraint fk_user_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_roles_role foreign key (role_id) references roles (id)
+);
+
+create table shifts (
+    id bigint generated by default as identity,
+    start_date timestamp(6) not null,
+    end_date timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_shifts_user foreign key (user_id) references users (id)
+);
+
+create table tables (
+    id bigint generated by default as identity,
+    number integer not null unique,
+    current_order_id bigint,
+    table_state varchar(255) not null check (table_state in ('AVAILABLE','OCCUPIED','RESERVED','OUT_OF_SERVICE')),
+    primary key (id)
+);
+
+create table menu_items (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    description varchar(255) not null,
+    price numeric(10,2) not null,
+    category varchar(255) not null check (category in ('STARTER','MAIN','DESSERT','BEVERAGE','ADDITIONAL')),
+    primary key (id)
+);
+
+create table menu_item_allergens (
+    menu_item_id bigint not null,
+    allergen_id bigint not null,
+    primary key (allergen_id, menu_item_id),
+    constraint fk_menu_item_allergens_menu_item foreign key (menu_item_id) references menu_items (id),
+    constraint fk_menu_item_allergens_allergen foreign key (allergen_id) references allergens (id)
+);
+
+create table orders (
+    id bigint generated by default as identity,
+    table_id bigint not null,
+    user_id bigint not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    total_amount numeric(10,2) not null,
+    order_state varchar(255) not null check (order_state in ('PENDING','PREPARING','READY','SERVED','PAID','CANCELLED')),
+    customer_count integer not null,
+    primary key (id)
+);
+
+create table order_items (
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    menu_item_id bigint not null,
+    quantity integer not null,
+    unit_price numeric(10,2) not null,
+    subtotal numeric(10,2) not null,
+    primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders (id)
+);
+
+create table payments (
+    id bigint generated by default as identity,
+    amount numeric(10,2) not null,
+    payment_method varchar(255) not null check (payment_method in ('CASH','CARD','SPLIT')),
+    payment_status varchar(255) not null check (payment_status in ('PENDING','COMPLETED','FAILED','REFUNDED')),
+    order_id bigint not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
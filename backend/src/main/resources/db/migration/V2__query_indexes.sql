@@ -0,0 +1,32 @@
+-- Indexes for the repository lookups and keyset pages. Time-ordered lists are paged by
+-- (created_at desc, id desc) and the rest by id (see PageQuery), so each index ends with the
+-- sort columns and the first page is read straight off the index. Postgres walks them
+-- backwards for the descending sorts.
+
+-- OrderRepository.findByTableId / findByUserId / findByCreatedAtBetween / findAllBy
+create index idx_orders_table_created on orders (table_id, created_at, id);
+create index idx_orders_user_created on orders (user_id, created_at, id);
+create index idx_orders_created on orders (created_at, id);
+-- Open orders by state, oldest first (kitchen and floor views)
+create index idx_orders_state_created on orders (order_state, created_at);
+
+-- OrderItemRepository.findByOrderId / findByOrderIdIn / deleteByOrderId, and the order_id foreign key
+create index idx_order_items_order on order_items (order_id);
+-- OrderItemRepository.findByMenuItemId, paged by id
+create index idx_order_items_menu_item on order_items (menu_item_id, id);
+
+-- PaymentRepository.findByOrderId
+create index idx_payments_order on payments (order_id);
+-- PaymentRepository.findByPaymentStatus / findByCreatedAtBetween / findAllBy
+create index idx_payments_status_created on payments (payment_status, created_at, id);
+create index idx_payments_created on payments (created_at, id);
+
+-- ShiftRepository.findByUserId, paged by id, and the user_id foreign key
+create index idx_shifts_user on shifts (user_id, id);
+
+-- RestaurantTableRepository.findByTableState
+create index idx_tables_state on tables (table_state);
+
+-- Reverse lookups on the join tables, whose primary keys lead with the other column
+create index idx_user_roles_user on user_roles (user_id);
+create index idx_menu_item_allergens_menu_item on menu_item_allergens (menu_item_id);
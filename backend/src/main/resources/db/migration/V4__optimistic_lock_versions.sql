@@ -0,0 +1,7 @@
+-- Version columns for optimistic locking of the rows that waiters, the kitchen and cashiers
+-- edit concurrently. Hibernate bumps the version on every update and only updates the row
+-- if it still has the version that was read. The version is also the ETag of these resources.
+-- Existing rows start at version 0.
+alter table orders add column version bigint default 0 not null;
+alter table tables add column version bigint default 0 not null;
+alter table payments add column version bigint default 0 not null;
@@ -0,0 +1,8 @@
+-- Kitchen progress of each order item. Items start QUEUED at the station their menu item is
+-- routed to, a cook claims them (CLAIMED, with the cook's user id) and bumps them once done
+-- (BUMPED). Claims and bumps are conditional updates by primary key. The station queues only
+-- hold items of pending and preparing orders, which are found through idx_orders_state_created
+-- and idx_order_items_order, so no further index is needed.
+alter table order_items add column kitchen_state varchar(255) default 'QUEUED' not null
+    check (kitchen_state in ('QUEUED','CLAIMED','BUMPED'));
+alter table order_items add column claimed_by bigint;
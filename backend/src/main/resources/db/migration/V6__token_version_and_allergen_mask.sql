@@ -0,0 +1,29 @@
+-- Columns the entities gained before migrations were introduced, which are not part of the V1
+-- baseline. A database that ddl-auto=update already extended keeps its columns and values.
+-- The token version of existing users starts at 0, the version their tokens were issued with.
+alter table users add column if not exists token_version bigint default 0 not null;
+alter table menu_items add column if not exists allergen_mask integer default 0 not null;
+
+-- One bit per allergen, by position in AllergenEnum (GLUTEN is bit 0, MOLLUSKS bit 13).
+-- Each allergen is linked to a menu item at most once, so the sum of the bits is the mask.
+update menu_items set allergen_mask = (
+    select coalesce(sum(case a.name
+        when 'GLUTEN' then 1
+        when 'DAIRY' then 2
+        when 'EGGS' then 4
+        when 'FISH' then 8
+        when 'SHELLFISH' then 16
+        when 'TREE_NUTS' then 32
+        when 'PEANUTS' then 64
+        when 'SOY' then 128
+        when 'SESAME' then 256
+        when 'SULFITES' then 512
+        when 'MUSTARD' then 1024
+        when 'CELERY' then 2048
+        when 'LUPIN' then 4096
+        when 'MOLLUSKS' then 8192
+        else 0 end), 0)
+    from menu_item_allergens mia
+    join allergens a on a.id = mia.allergen_id
+    where mia.menu_item_id = menu_items.id
+);
@@ -0,0 +1,120 @@
+package com.spring.restaurantmanagementsystem.config;
+
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
+import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.TokenVersionCache;
+import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the CSRF protection of the real security filter chain for clients authenticated by the JWT cookie.
+ * The requests go to a probe endpoint, so the test does not depend on any service.
+ */
+@WebMvcTest(
+        controllers = CsrfTokenTest.ProbeController.class,
+        excludeAutoConfiguration = UserDetailsServiceAutoConfiguration.class
+)
+@Import({SecurityConfig.class, CsrfTokenTest.ProbeController.class})
+class CsrfTokenTest {
+
+    private static final String JWT = "waiter.jwt.token";
+    private static final String CSRF_TOKEN = "csrf-token-value";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private TokenVersionCache tokenVersionCache;
+
+    @RestController
+    static class ProbeController {
+        @PostMapping("/api/probe")
+        ResponseEntity<Void> probe() {
+            return ResponseEntity.noContent().build();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = mock(Claims.class);
+        AuthenticatedUser waiter = new AuthenticatedUser(1L, "waiter", "", List.of(new SimpleGrantedAuthority("ROLE_WAITER")), 0L);
+        when(jwtService.parseToken(JWT)).thenReturn(claims);
+        when(jwtService.toAuthenticatedUser(claims)).thenReturn(waiter);
+        when(tokenVersionCache.isCurrent(1L, 0L)).thenReturn(true);
+    }
+
+    // Helper method to send a mutating request with the cookies the client holds, and keep the cookies it sets
+    private MvcResult postWithCookies(Map<String, String> cookies) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/probe")
+                        .cookie(cookies.entrySet().stream()
+                                .map(cookie -> new Cookie(cookie.getKey(), cookie.getValue()))
+                                .toArray(Cookie[]::new))
+                        .header("X-CSRF-TOKEN", CSRF_TOKEN))
+                .andReturn();
+        for (Cookie cookie : result.getResponse().getCookies()) {
+            if (cookie.getMaxAge() == 0) {
+                cookies.remove(cookie.getName());
+            } else {
+                cookies.put(cookie.getName(), cookie.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("Should accept consecutive mutating requests with the CSRF cookie issued at login")
+    void post_ShouldKeepCsrfTokenAcrossRequests() throws Exception {
+        // Arrange
+        Map<String, String> cookies = new LinkedHashMap<>();
+        cookies.put("jwtToken", JWT);
+        cookies.put("CSRF-TOKEN", CSRF_TOKEN);
+
+        // Act
+        MvcResult first = postWithCookies(cookies);
+        MvcResult second = postWithCookies(cookies);
+
+        // Assert
+        assertEquals(204, first.getResponse().getStatus());
+        assertEquals(204, second.getResponse().getStatus());
+        assertEquals(CSRF_TOKEN, cookies.get("CSRF-TOKEN"));
+    }
+
+    @Test
+    @DisplayName("Should reject a mutating request without a matching CSRF token")
+    void post_ShouldRejectMissingCsrfToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/probe").cookie(new Cookie("jwtToken", JWT)))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -2,10 +2,13 @@ package com.spring.restaurantmanagementsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException; // Import your custom exception
 import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.TokenVersionCache;
 import com.spring.restaurantmanagementsystem.security.UserDetailsServiceImpl;
 import com.spring.restaurantmanagementsystem.service.AdminService;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +30,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -38,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -68,6 +73,9 @@ public class AdminControllerTest {
     @MockitoBean
     private UserDetailsServiceImpl userDetailsService; // Mocked for security context setup
 
+    @MockitoBean
+    private TokenVersionCache tokenVersionCache; // Mocked because the JWT filter depends on it
+
     /**
      * Test case for retrieving all users.
      * Verifies that the GET /api/admin/users endpoint returns a list of users.
@@ -81,19 +89,22 @@ public class AdminControllerTest {
         UserDto user2 = new UserDto(2L, "user", "user@mail.com", Set.of("WAITER"));
         List<UserDto> userList = List.of(user1, user2);
 
-        // Configure mock behavior: when adminService.getAllUsers() is called, return our list
-        when(adminService.getAllUsers()).thenReturn(userList);
+        // Configure mock behavior: when adminService.getAllUsers() is called, return a page with more users after it
+        when(adminService.getAllUsers(any(PageQuery.class))).thenReturn(new CursorPage<>(userList, true, 2L, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/admin/users") // Perform a GET request to the endpoint
+                        .param("size", "2") // Request a page of two users
                         .contentType(MediaType.APPLICATION_JSON)) // Set content type
                 .andExpect(status().isOk()) // Expect HTTP 200 OK status
                 .andExpect(jsonPath("$.size()").value(2)) // Expect two users in the response array
                 .andExpect(jsonPath("$[0].username").value("admin")) // Verify username of the first user
-                .andExpect(jsonPath("$[1].username").value("user")); // Verify username of the second user
+                .andExpect(jsonPath("$[1].username").value("user")) // Verify username of the second user
+                .andExpect(header().string("X-Has-Next", "true")) // Expect the next-page flag
+                .andExpect(header().string("X-Next-After-Id", "2")); // Expect the cursor of the next page
 
-        // Verify that adminService.getAllUsers() was called exactly once
-        verify(adminService, times(1)).getAllUsers();
+        // Verify that adminService.getAllUsers() was called exactly once with the requested page size
+        verify(adminService, times(1)).getAllUsers(argThat(query -> query.pageSize() == 2));
     }
 
     /**
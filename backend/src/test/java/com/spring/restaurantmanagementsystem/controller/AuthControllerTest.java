@@ -2,7 +2,10 @@ package com.spring.restaurantmanagementsystem.controller;
 
 import com.spring.restaurantmanagementsystem.dto.LoginRequest;
 import com.spring.restaurantmanagementsystem.dto.LoginResponse;
+import com.spring.restaurantmanagementsystem.exception.RetryLaterException;
+import com.spring.restaurantmanagementsystem.security.AuthenticatedUser;
 import com.spring.restaurantmanagementsystem.security.JwtService;
+import com.spring.restaurantmanagementsystem.security.LoginThrottle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,22 +15,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.security.web.csrf.DefaultCsrfToken;
 
 import jakarta.servlet.http.Cookie;
+import java.time.Duration;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,13 +45,19 @@ class AuthControllerTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthController authController;
 
+    private MockHttpServletRequest mockRequest;
+
     private MockHttpServletResponse mockResponse;
 
     @BeforeEach
     void setUp() {
+        mockRequest = new MockHttpServletRequest();
         mockResponse = new MockHttpServletResponse();
         // Clear the SecurityContext before each test
         SecurityContextHolder.clearContext();
@@ -61,21 +72,21 @@ class AuthControllerTest {
         String jwtToken = "mock.jwt.token";
         String csrfTokenValue = "mockCsrfTokenValue";
         LoginRequest loginRequest = new LoginRequest(username, password);
-        UserDetails userDetails = new User(username, password, Collections.emptyList());
+        AuthenticatedUser userDetails = new AuthenticatedUser(1L, username, password, Collections.emptyList(), 0L);
 
         // Mock Authentication object
         Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
         // Mock dependencies
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        when(jwtService.generateToken(username)).thenReturn(jwtToken);
+        when(jwtService.generateToken(userDetails)).thenReturn(jwtToken);
         when(jwtService.getJwtExpiration()).thenReturn(3600000L); // 1 hour in ms
 
         // Create a mock CsrfToken object
         CsrfToken csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", csrfTokenValue);
 
         // Act
-        ResponseEntity<LoginResponse> responseEntity = authController.login(loginRequest, mockResponse, csrfToken);
+        ResponseEntity<LoginResponse> responseEntity = authController.login(loginRequest, mockRequest, mockResponse, csrfToken);
 
         // Assert
         assertNotNull(responseEntity);
@@ -95,7 +106,7 @@ class AuthControllerTest {
         // Verify that authenticationManager.authenticate was called
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         // Verify that jwtService.generateToken was called
-        verify(jwtService).generateToken(username);
+        verify(jwtService).generateToken(userDetails);
 
         // Verify that SecurityContextHolder was updated
         Authentication securityContextAuth = SecurityContextHolder.getContext().getAuthentication();
@@ -115,7 +126,7 @@ class AuthControllerTest {
 
         // Act & Assert
         assertThrows(BadCredentialsException.class, () ->
-                authController.login(loginRequest, mockResponse, null)
+                authController.login(loginRequest, mockRequest, mockResponse, null)
         );
 
         // Verify that authenticationManager.authenticate was called
@@ -125,4 +136,21 @@ class AuthControllerTest {
         // No cookie should be set
         assertNull(mockResponse.getCookie("jwtToken"));
     }
+
+    @Test
+    @DisplayName("Should reject a throttled login before authenticating")
+    void login_Throttled_ThrowsBeforeAuthentication() {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest("testuser", "password123");
+        doThrow(new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS, Duration.ofSeconds(5), "Too many sign-in attempts"))
+                .when(loginThrottle).acquire("testuser", mockRequest.getRemoteAddr());
+
+        // Act & Assert
+        RetryLaterException exception = assertThrows(RetryLaterException.class, () ->
+                authController.login(loginRequest, mockRequest, mockResponse, null)
+        );
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        verify(authenticationManager, never()).authenticate(any());
+        assertNull(mockResponse.getCookie("jwtToken"));
+    }
 }
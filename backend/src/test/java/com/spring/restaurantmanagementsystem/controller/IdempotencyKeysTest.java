@@ -0,0 +1,148 @@
+package com.spring.restaurantmanagementsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyKeysTest {
+
+    private static final String ENDPOINT = "POST /api/order-items/order/1";
+
+    private final IdempotencyKeys idempotencyKeys = new IdempotencyKeys(new ObjectMapper(), new SimpleMeterRegistry(),
+            100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Helper method to build an order item request with the given quantity
+    private CreateOrderItemRequest request(int quantity) {
+        return new CreateOrderItemRequest(1L, quantity, new BigDecimal("5.00"));
+    }
+
+    // Helper method to stand in for a create endpoint, returning a new id on every call
+    private ResponseEntity<Integer> create() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(creates.incrementAndGet());
+    }
+
+    // Helper method to run the following requests as the given user
+    private void loginAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should replay the original response to a retry without creating again")
+    void execute_ShouldReplayRetry() {
+        // Arrange
+        loginAs("waiter");
+        ResponseEntity<Integer> original = idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create);
+
+        // Act
+        ResponseEntity<Integer> retry = idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create);
+
+        // Assert
+        assertEquals(1, creates.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(original.getBody(), retry.getBody());
+        assertNull(original.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should keep keys apart per user and endpoint, and always create without a key")
+    void execute_ShouldScopeKeys() {
+        // Arrange
+        loginAs("waiter");
+        idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create);
+
+        // Act
+        idempotencyKeys.execute("key-1", "POST /api/order-items/order/2", request(2), this::create);
+        idempotencyKeys.execute(null, ENDPOINT, request(2), this::create);
+        idempotencyKeys.execute(null, ENDPOINT, request(2), this::create);
+        loginAs("other-waiter");
+        idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create);
+
+        // Assert
+        assertEquals(5, creates.get());
+        assertThrows(IllegalArgumentException.class, () -> idempotencyKeys.execute(" ", ENDPOINT, request(2), this::create));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyKeys.execute("k".repeat(256), ENDPOINT, request(2), this::create));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request and forget keys whose request failed")
+    void execute_ShouldRejectMismatchAndForgetFailures() {
+        // Arrange
+        idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create);
+
+        // Act
+        ConflictException mismatch = assertThrows(ConflictException.class,
+                () -> idempotencyKeys.execute("key-1", ENDPOINT, request(3), this::create));
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyKeys.execute("key-2", ENDPOINT, request(2), () -> {
+            throw new ResourceNotFoundException("Order not found with id: 1");
+        }));
+        ResponseEntity<Integer> retried = idempotencyKeys.execute("key-2", ENDPOINT, request(2), this::create);
+
+        // Assert
+        assertEquals("Idempotency-Key key-1 was already used for a different request", mismatch.getMessage());
+        assertEquals(2, retried.getBody());
+        assertNull(retried.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should make a retry that overtakes the original wait for its response instead of creating again")
+    void execute_ShouldWaitForRequestInProgress() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> original = CompletableFuture.supplyAsync(() ->
+                idempotencyKeys.execute("key-1", ENDPOINT, request(2), () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return create();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ResponseEntity<Integer>> retry = CompletableFuture.supplyAsync(() ->
+                idempotencyKeys.execute("key-1", ENDPOINT, request(2), this::create));
+        Thread.sleep(100);
+        boolean retryDoneEarly = retry.isDone();
+        release.countDown();
+
+        // Assert
+        assertFalse(retryDoneEarly);
+        assertEquals(original.get(5, TimeUnit.SECONDS).getBody(), retry.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, creates.get());
+    }
+}
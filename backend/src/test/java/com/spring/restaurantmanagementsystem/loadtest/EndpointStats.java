@@ -0,0 +1,82 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint, keyed by method and path template.
+ * Latencies are recorded in microseconds and reported in milliseconds.
+ */
+final class EndpointStats {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    void printSummary(PrintStream out, Duration elapsed) {
+        out.printf("%-50s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram latencies = stats.latencies.copy();
+            long count = latencies.getTotalCount();
+            out.printf("%-50s %8d %8.1f %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, count, count / seconds(elapsed), 100.0 * stats.errors.sum() / count,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        });
+    }
+
+    // Full percentile distributions in the HdrHistogram text format, one section per endpoint
+    void writeHistograms(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            endpoints.forEach((endpoint, stats) -> {
+                out.println("# " + endpoint + " (milliseconds)");
+                stats.latencies.copy().outputPercentileDistribution(out, MICROS_PER_MILLI);
+                out.println();
+            });
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(duration.toMillis(), 1) / 1_000.0;
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,167 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * One logged-in member of staff, as the browser client would be: the JWT and CSRF cookies are
+ * kept per client and the CSRF token is echoed in a header on every mutating request.
+ * Cookies are handled by hand because the JWT cookie is Secure and the JDK cookie manager
+ * would not send it to a plain-HTTP local server.
+ */
+final class LoadTestClient {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String CSRF_COOKIE = "CSRF-TOKEN";
+    private static final String CSRF_HEADER = "X-CSRF-TOKEN";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final EndpointStats stats;
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+    private Long userId;
+
+    LoadTestClient(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper, EndpointStats stats) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+    }
+
+    void login(String username, String password) {
+        expectOk("POST /api/auth/login", "POST", "/api/auth/login",
+                Map.of("username", username, "password", password));
+        userId = expectOk("GET /api/auth/me", "GET", "/api/auth/me", null).path("id").asLong();
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    // The same session, with its latencies recorded in other stats
+    LoadTestClient withStats(EndpointStats other) {
+        LoadTestClient client = new LoadTestClient(httpClient, baseUri, objectMapper, other);
+        client.cookies.putAll(cookies);
+        client.userId = userId;
+        return client;
+    }
+
+    /**
+     * Sends a request and fails with a LoadTestException unless it succeeds.
+     *
+     * @param endpoint The method and path template the latency is recorded under.
+     * @param method The HTTP method.
+     * @param path The request path, including any query string.
+     * @param body The JSON request body, or null for none.
+     * @return The parsed response body, or a missing node when it is empty.
+     */
+    JsonNode expectOk(String endpoint, String method, String path, Object body) {
+        Response response = send(endpoint, method, path, body);
+        if (response.status() / 100 != 2) {
+            throw new LoadTestException(endpoint + " returned " + response.status() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    Response send(String endpoint, String method, String path, Object body) {
+        HttpRequest request = buildRequest(method, path, body);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            stats.record(endpoint, System.nanoTime() - start, response.statusCode() / 100 == 2);
+            storeCookies(response);
+            return new Response(response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            throw new LoadTestException(endpoint + " failed: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTestException(endpoint + " interrupted", e);
+        }
+    }
+
+    private HttpRequest buildRequest(String method, String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        try {
+            builder.method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new LoadTestException("Cannot serialize request body for " + path, e);
+        }
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        String csrfToken = cookies.get(CSRF_COOKIE);
+        if (csrfToken != null && !SAFE_METHODS.contains(method)) {
+            builder.header(CSRF_HEADER, csrfToken);
+        }
+        return builder.build();
+    }
+
+    // Keeps name=value of every Set-Cookie; an empty value is the server clearing the cookie
+    private void storeCookies(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            String pair = header.split(";", 2)[0];
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String name = pair.substring(0, separator).trim();
+            String value = pair.substring(separator + 1).trim();
+            if (value.isEmpty()) {
+                cookies.remove(name);
+            } else {
+                cookies.put(name, value);
+            }
+        }
+    }
+
+    // Error pages are not always JSON; keep them as text for the failure message
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    record Response(int status, JsonNode body) {
+    }
+
+    static final class LoadTestException extends RuntimeException {
+        LoadTestException(String message) {
+            super(message);
+        }
+
+        LoadTestException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
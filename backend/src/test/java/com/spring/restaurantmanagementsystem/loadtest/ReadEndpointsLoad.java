@@ -0,0 +1,129 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.loadtest.LoadTestClient.LoadTestException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives GET /api/orders and GET /api/tables at a fixed concurrency against a running backend, to
+ * compare the throughput and tail latency of the execution modes. The workers share one admin
+ * session, since logins are throttled per username, and alternate the two requests back to back
+ * with no think time; a warm-up period is run first and left out of the report.
+ * <p>
+ * Start the backend with and without the virtual-threads profile, then run:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.spring.restaurantmanagementsystem.loadtest.ReadEndpointsLoad \
+ *   -Dexec.args="--admin-password=... --concurrency=64 --duration=PT60S"
+ * </pre>
+ */
+public final class ReadEndpointsLoad {
+
+    private static final String ORDERS = "GET /api/orders";
+    private static final String TABLES = "GET /api/tables";
+
+    private final Settings settings;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReadEndpointsLoad(Settings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        new ReadEndpointsLoad(Settings.parse(args)).run();
+    }
+
+    private void run() throws IOException {
+        System.out.printf("Warming up for %s at concurrency %d...%n", settings.warmUp(), settings.concurrency());
+        drive(settings.warmUp(), new EndpointStats());
+
+        EndpointStats stats = new EndpointStats();
+        long start = System.nanoTime();
+        drive(settings.duration(), stats);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        System.out.printf("%nRead load against %s: concurrency %d, %s%n",
+                settings.baseUri(), settings.concurrency(), elapsed);
+        stats.printSummary(System.out, elapsed);
+        System.out.printf("total %d requests, %.1f req/s, %d errors%n", stats.totalRequests(),
+                stats.totalRequests() * 1_000.0 / Math.max(elapsed.toMillis(), 1), stats.totalErrors());
+        stats.writeHistograms(settings.histogramFile());
+        System.out.println("Latency histograms written to " + settings.histogramFile());
+    }
+
+    private void drive(Duration duration, EndpointStats stats) {
+        // The login is recorded separately so it does not skew the report
+        LoadTestClient session = new LoadTestClient(httpClient, settings.baseUri(), objectMapper, new EndpointStats());
+        session.login(settings.adminUser(), settings.adminPassword());
+        LoadTestClient client = session.withStats(stats);
+
+        long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                workers.submit(() -> work(client, end));
+            }
+        }
+    }
+
+    private void work(LoadTestClient client, long end) {
+        while (System.nanoTime() < end) {
+            try {
+                client.expectOk(ORDERS, "GET", "/api/orders?size=" + settings.pageSize(), null);
+                client.expectOk(TABLES, "GET", "/api/tables", null);
+            } catch (LoadTestException e) {
+                // Already counted as an error; keep the concurrency constant
+            }
+        }
+    }
+
+    /**
+     * @param baseUri Where the backend listens.
+     * @param adminUser The admin account the workers log in as.
+     * @param adminPassword Its password.
+     * @param concurrency Number of clients sending requests back to back.
+     * @param warmUp Time driven before measuring.
+     * @param duration Time measured.
+     * @param pageSize Page size of the order list requests.
+     * @param histogramFile Where the full latency distributions are written.
+     */
+    record Settings(URI baseUri, String adminUser, String adminPassword, int concurrency, Duration warmUp,
+                    Duration duration, int pageSize, Path histogramFile) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Settings settings = new Settings(
+                    URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                    options.getOrDefault("admin-user", "admin"),
+                    options.getOrDefault("admin-password", "admin"),
+                    Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                    Duration.parse(options.getOrDefault("warm-up", "PT20S")),
+                    Duration.parse(options.getOrDefault("duration", "PT60S")),
+                    Integer.parseInt(options.getOrDefault("page-size", "20")),
+                    Path.of(options.getOrDefault("histogram-file", "target/loadtest/read-latency.hgrm")));
+            if (settings.concurrency() < 1 || settings.pageSize() < 1) {
+                throw new IllegalArgumentException("Concurrency and page size must be positive");
+            }
+            return settings;
+        }
+    }
+}
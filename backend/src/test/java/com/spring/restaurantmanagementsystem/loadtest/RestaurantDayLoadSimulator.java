@@ -0,0 +1,392 @@
+package com.spring.restaurantmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
+import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
+import com.spring.restaurantmanagementsystem.enums.RoleEnum;
+import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import com.spring.restaurantmanagementsystem.loadtest.LoadTestClient.LoadTestException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a busy restaurant service against a running backend.
+ * Parties arrive at random with the configured mean rate, are seated at a free table, order through a
+ * waiter, add a round of drinks and sometimes dessert, have their order moved through the kitchen states
+ * and pay at a cashier. Every party runs on its own virtual thread with think times between steps,
+ * compressed by the time scale so an evening fits in a few minutes.
+ * <p>
+ * Start the backend with the loadtest profile (H2 or a local Postgres), then run:
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.spring.restaurantmanagementsystem.loadtest.RestaurantDayLoadSimulator \
+ *   -Dexec.args="--admin-password=... --parties-per-hour=40 --duration=PT5M"
+ * </pre>
+ * Missing staff, tables and menu items are created through the admin API before the run starts.
+ */
+public final class RestaurantDayLoadSimulator {
+
+    private static final String STAFF_PASSWORD = "loadtest-pass";
+    private static final String STATEMENTS_METRIC = "/actuator/metrics/hibernate.statements?tag=status:prepared";
+    private static final int MIN_MENU_ITEMS = 20;
+
+    private final Settings settings;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EndpointStats stats = new EndpointStats();
+    private final BlockingQueue<Long> freeTables = new LinkedBlockingQueue<>();
+    private final Map<CategoryEnum, List<JsonNode>> menuByCategory = new EnumMap<>(CategoryEnum.class);
+    private final List<LoadTestClient> waiters = new ArrayList<>();
+    private final List<LoadTestClient> cashiers = new ArrayList<>();
+    private final AtomicLong partiesServed = new AtomicLong();
+    private final AtomicLong partiesFailed = new AtomicLong();
+    private final AtomicLong partiesTurnedAway = new AtomicLong();
+    private LoadTestClient admin;
+
+    private RestaurantDayLoadSimulator(Settings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        new RestaurantDayLoadSimulator(Settings.parse(args)).run();
+    }
+
+    private void run() throws IOException {
+        // Setup traffic is recorded separately so it does not skew the report
+        admin = new LoadTestClient(httpClient, settings.baseUri(), objectMapper, new EndpointStats());
+        admin.login(settings.adminUser(), settings.adminPassword());
+        prepareStaff();
+        prepareTables();
+        prepareMenu();
+
+        Long statementsBefore = readStatementCount();
+        long start = System.nanoTime();
+        long arrivalsEnd = start + settings.duration().toNanos();
+        try (ExecutorService parties = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (System.nanoTime() < arrivalsEnd) {
+                sleepMillis(nextArrivalDelayMillis());
+                Long tableId = freeTables.poll();
+                if (tableId == null) {
+                    partiesTurnedAway.incrementAndGet();
+                } else {
+                    parties.submit(() -> serveParty(tableId));
+                }
+            }
+            System.out.println("Arrivals closed, waiting for seated parties to finish...");
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Long statementsAfter = readStatementCount();
+
+        report(elapsed, statementsBefore, statementsAfter);
+    }
+
+    private void serveParty(Long tableId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadTestClient waiter = waiters.get(random.nextInt(waiters.size()));
+        LoadTestClient cashier = cashiers.get(random.nextInt(cashiers.size()));
+        int guests = partySize(random);
+        try {
+            waiter.expectOk("GET /api/menu-items", "GET", "/api/menu-items", null);
+            think(4);
+
+            List<Map<String, Object>> firstRound = new ArrayList<>();
+            for (int i = 0; i < guests; i++) {
+                firstRound.add(orderLine(CategoryEnum.MAIN, 1));
+                if (random.nextInt(100) < 40) {
+                    firstRound.add(orderLine(CategoryEnum.STARTER, 1));
+                }
+            }
+            Map<String, Object> seatParty = new HashMap<>();
+            seatParty.put("userId", waiter.userId());
+            seatParty.put("orderItems", firstRound);
+            seatParty.put("customerCount", guests);
+            long orderId = waiter.expectOk("POST /api/tables/{id}/seat", "POST",
+                    "/api/tables/" + tableId + "/seat", seatParty).path("id").asLong();
+            advance(waiter, orderId, OrderStateEnum.PREPARING);
+            think(6);
+
+            // Drinks arrive while the kitchen works
+            waiter.expectOk("POST /api/order-items/order/{orderId}", "POST", "/api/order-items/order/" + orderId,
+                    orderLine(CategoryEnum.BEVERAGE, Math.max(1, guests - random.nextInt(2))));
+            waiter.expectOk("GET /api/tables", "GET", "/api/tables", null);
+            think(12);
+            advance(waiter, orderId, OrderStateEnum.READY);
+            think(2);
+            advance(waiter, orderId, OrderStateEnum.SERVED);
+            think(30);
+
+            JsonNode items = waiter.expectOk("GET /api/order-items/order/{orderId}", "GET",
+                    "/api/order-items/order/" + orderId, null);
+            if (random.nextInt(100) < 20 && items.size() > 0) {
+                // Another round of the same drink or dish
+                JsonNode item = items.get(random.nextInt(items.size()));
+                Map<String, Object> update = Map.of(
+                        "menuItemId", item.path("menuItemId").asLong(),
+                        "quantity", item.path("quantity").asInt() + 1,
+                        "unitPrice", item.path("unitPrice").decimalValue());
+                waiter.expectOk("PUT /api/order-items/{id}", "PUT", "/api/order-items/" + item.path("id").asLong(),
+                        update);
+            }
+            if (random.nextInt(100) < 45) {
+                waiter.expectOk("POST /api/order-items/order/{orderId}", "POST",
+                        "/api/order-items/order/" + orderId, orderLine(CategoryEnum.DESSERT, 1 + random.nextInt(guests)));
+                think(10);
+            }
+            think(4);
+
+            BigDecimal total = cashier.expectOk("GET /api/orders/{id}", "GET", "/api/orders/" + orderId, null)
+                    .path("totalAmount").decimalValue();
+            Map<String, Object> payment = Map.of(
+                    "amount", total,
+                    "paymentMethod", paymentMethod(random).name(),
+                    "paymentStatus", PaymentStatusEnum.COMPLETED.name(),
+                    "orderId", orderId);
+            cashier.expectOk("POST /api/cashier/payments", "POST", "/api/cashier/payments", payment);
+            advance(cashier, orderId, OrderStateEnum.PAID);
+            waiter.expectOk("PATCH /api/tables/{id}/state", "PATCH",
+                    "/api/tables/" + tableId + "/state?state=" + TableStateEnum.AVAILABLE.name(), null);
+            partiesServed.incrementAndGet();
+        } catch (LoadTestException e) {
+            partiesFailed.incrementAndGet();
+            System.err.println("Party at table " + tableId + " failed: " + e.getMessage());
+            releaseTable(tableId);
+        } finally {
+            freeTables.add(tableId);
+        }
+    }
+
+    private void advance(LoadTestClient client, long orderId, OrderStateEnum state) {
+        client.expectOk("PATCH /api/orders/{id}/state", "PATCH",
+                "/api/orders/" + orderId + "/state?state=" + state.name(), null);
+    }
+
+    // A failed party must not leave its table occupied for the next one
+    private void releaseTable(Long tableId) {
+        try {
+            admin.send("PATCH /api/admin/tables/{id}/state", "PATCH",
+                    "/api/admin/tables/" + tableId + "/state?state=" + TableStateEnum.AVAILABLE.name(), null);
+        } catch (LoadTestException e) {
+            System.err.println("Could not release table " + tableId + ": " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> orderLine(CategoryEnum category, int quantity) {
+        List<JsonNode> items = menuByCategory.getOrDefault(category, List.of());
+        if (items.isEmpty()) {
+            items = menuByCategory.values().stream().flatMap(List::stream).toList();
+        }
+        JsonNode item = items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        return Map.of(
+                "menuItemId", item.path("id").asLong(),
+                "quantity", quantity,
+                "unitPrice", item.path("price").decimalValue());
+    }
+
+    // Mostly couples and small groups, occasionally a large table
+    private static int partySize(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 15) {
+            return 1;
+        } else if (roll < 55) {
+            return 2;
+        } else if (roll < 75) {
+            return 3;
+        } else if (roll < 92) {
+            return 4;
+        }
+        return 5 + random.nextInt(4);
+    }
+
+    private static PaymentMethodEnum paymentMethod(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 65) {
+            return PaymentMethodEnum.CARD;
+        }
+        return roll < 95 ? PaymentMethodEnum.CASH : PaymentMethodEnum.SPLIT;
+    }
+
+    // Exponential inter-arrival times give a Poisson arrival process at the configured rate
+    private long nextArrivalDelayMillis() {
+        double partiesPerSecond = settings.partiesPerHour() * settings.timeScale() / 3_600.0;
+        return (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * 1_000.0 / partiesPerSecond);
+    }
+
+    // Waits the given number of simulated minutes, +/- 30%
+    private void think(double minutes) {
+        double jitter = 0.7 + ThreadLocalRandom.current().nextDouble() * 0.6;
+        sleepMillis((long) (minutes * jitter * 60_000 / settings.timeScale()));
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTestException("Interrupted while waiting", e);
+        }
+    }
+
+    private void prepareStaff() {
+        for (int i = 1; i <= settings.waiters(); i++) {
+            waiters.add(staffClient("lt-waiter-" + i, RoleEnum.WAITER));
+        }
+        for (int i = 1; i <= settings.cashiers(); i++) {
+            cashiers.add(staffClient("lt-cashier-" + i, RoleEnum.CASHIER));
+        }
+    }
+
+    private LoadTestClient staffClient(String username, RoleEnum role) {
+        // 400 means the user exists already from an earlier run
+        LoadTestClient.Response created = admin.send("POST /api/admin/users", "POST", "/api/admin/users", Map.of(
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", STAFF_PASSWORD,
+                "role", role.name()));
+        if (created.status() / 100 != 2 && created.status() != 400) {
+            throw new LoadTestException("Cannot create " + username + ": " + created.status() + " " + created.body());
+        }
+        LoadTestClient client = new LoadTestClient(httpClient, settings.baseUri(), objectMapper, stats);
+        client.login(username, STAFF_PASSWORD);
+        return client;
+    }
+
+    private void prepareTables() {
+        Map<Integer, Long> tableIds = new HashMap<>();
+        admin.expectOk("GET /api/admin/tables", "GET", "/api/admin/tables", null)
+                .forEach(table -> tableIds.put(table.path("number").asInt(), table.path("id").asLong()));
+        for (int number = 1; number <= settings.tables(); number++) {
+            Long tableId = tableIds.get(number);
+            if (tableId == null) {
+                tableId = admin.expectOk("POST /api/admin/tables", "POST", "/api/admin/tables", Map.of(
+                        "number", number,
+                        "tableState", TableStateEnum.AVAILABLE.name())).path("id").asLong();
+            } else {
+                releaseTable(tableId);
+            }
+            freeTables.add(tableId);
+        }
+    }
+
+    private void prepareMenu() {
+        JsonNode menu = admin.expectOk("GET /api/menu-items", "GET", "/api/menu-items", null);
+        if (menu.size() < MIN_MENU_ITEMS) {
+            Set<String> names = new HashSet<>();
+            menu.forEach(item -> names.add(item.path("name").asText()));
+            CategoryEnum[] categories = CategoryEnum.values();
+            for (int i = 1; i <= MIN_MENU_ITEMS * 2; i++) {
+                String name = "Load test dish " + i;
+                if (!names.contains(name)) {
+                    admin.expectOk("POST /api/admin/menu-items", "POST", "/api/admin/menu-items", Map.of(
+                            "name", name,
+                            "description", "Created by the load simulator",
+                            "allergenIds", List.of(),
+                            "price", BigDecimal.valueOf(350 + 75L * i).movePointLeft(2),
+                            "category", categories[i % categories.length].name()));
+                }
+            }
+            menu = admin.expectOk("GET /api/menu-items", "GET", "/api/menu-items", null);
+        }
+        menu.forEach(item -> menuByCategory
+                .computeIfAbsent(CategoryEnum.valueOf(item.path("category").asText()), key -> new ArrayList<>())
+                .add(item));
+    }
+
+    // Null when the backend does not run with the loadtest profile
+    private Long readStatementCount() {
+        LoadTestClient.Response response = admin.send("GET /actuator/metrics", "GET", STATEMENTS_METRIC, null);
+        if (response.status() != 200) {
+            return null;
+        }
+        return response.body().path("measurements").path(0).path("value").asLong();
+    }
+
+    private void report(Duration elapsed, Long statementsBefore, Long statementsAfter) throws IOException {
+        long requests = stats.totalRequests();
+        System.out.printf("%nRan for %ds: %d parties served, %d failed, %d turned away (no free table)%n",
+                elapsed.toSeconds(), partiesServed.get(), partiesFailed.get(), partiesTurnedAway.get());
+        System.out.printf("%d requests, %.1f req/s, %d errors%n%n",
+                requests, requests * 1_000.0 / Math.max(elapsed.toMillis(), 1), stats.totalErrors());
+        stats.printSummary(System.out, elapsed);
+
+        if (statementsBefore != null && statementsAfter != null) {
+            long statements = statementsAfter - statementsBefore;
+            System.out.printf("%nDatabase statements: %d (%.2f per request)%n",
+                    statements, (double) statements / Math.max(requests, 1));
+        } else {
+            System.out.printf("%nDatabase statements: n/a (start the backend with the loadtest profile)%n");
+        }
+
+        stats.writeHistograms(settings.histogramFile());
+        System.out.println("Latency histograms written to " + settings.histogramFile().toAbsolutePath());
+    }
+
+    /**
+     * Command-line options, each given as --name=value.
+     *
+     * @param baseUri Root URL of the running backend.
+     * @param adminUser Admin account used to create staff, tables and menu items.
+     * @param adminPassword Password of the admin account.
+     * @param partiesPerHour Mean arrival rate in simulated time.
+     * @param timeScale Simulated seconds per real second.
+     * @param duration Real time during which new parties arrive.
+     * @param tables Number of tables to serve.
+     * @param waiters Number of waiter accounts sharing the tables.
+     * @param cashiers Number of cashier accounts taking payments.
+     * @param histogramFile Where the full latency distributions are written.
+     */
+    record Settings(URI baseUri, String adminUser, String adminPassword, double partiesPerHour, double timeScale,
+                    Duration duration, int tables, int waiters, int cashiers, Path histogramFile) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Settings settings = new Settings(
+                    URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                    options.getOrDefault("admin-user", "admin"),
+                    options.getOrDefault("admin-password", "admin"),
+                    Double.parseDouble(options.getOrDefault("parties-per-hour", "40")),
+                    Double.parseDouble(options.getOrDefault("time-scale", "60")),
+                    Duration.parse(options.getOrDefault("duration", "PT5M")),
+                    Integer.parseInt(options.getOrDefault("tables", "40")),
+                    Integer.parseInt(options.getOrDefault("waiters", "6")),
+                    Integer.parseInt(options.getOrDefault("cashiers", "2")),
+                    Path.of(options.getOrDefault("histogram-file", "target/loadtest/latency.hgrm")));
+            if (settings.partiesPerHour() <= 0 || settings.timeScale() <= 0 || settings.waiters() < 1
+                    || settings.cashiers() < 1 || settings.tables() < 1) {
+                throw new IllegalArgumentException("Rates, time scale, tables and staff counts must be positive");
+            }
+            return settings;
+        }
+    }
+}
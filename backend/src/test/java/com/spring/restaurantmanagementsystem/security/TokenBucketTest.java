@@ -0,0 +1,48 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then report the wait for the next token")
+    void tryConsume_ShouldLimitBurstToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(10), 0);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, bucket.tryConsume(0));
+        }
+        assertEquals(Duration.ofSeconds(10), bucket.tryConsume(0));
+        assertEquals(Duration.ofSeconds(6), bucket.tryConsume(4 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Should refill over time without exceeding capacity")
+    void tryConsume_ShouldRefillUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(1), 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        // Act
+        long later = 60 * SECOND;
+        boolean first = bucket.tryConsume(later).isZero();
+        boolean second = bucket.tryConsume(later).isZero();
+        Duration third = bucket.tryConsume(later);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(Duration.ofSeconds(1), third);
+    }
+}
@@ -0,0 +1,91 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the token version cache: hits, revoked users, and an eviction racing a load of the old version.
+ */
+class TokenVersionCacheTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenVersionCache tokenVersionCache =
+            new TokenVersionCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+    // Helper method to read the hit or miss count of the token-versions cache
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", TokenVersionCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("Should load a version once, serve later checks from the cache and reject deleted users")
+    void isCurrent_ShouldCacheVersions() {
+        // Arrange
+        Mockito.when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L));
+        Mockito.when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean current = tokenVersionCache.isCurrent(1L, 3L);
+        boolean outdated = tokenVersionCache.isCurrent(1L, 2L);
+        boolean deleted = tokenVersionCache.isCurrent(2L, 0L);
+
+        // Assert
+        assertTrue(current);
+        assertFalse(outdated);
+        assertFalse(deleted);
+        Mockito.verify(userRepository, Mockito.times(1)).findTokenVersionById(1L);
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(2, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should not keep a version loaded before a change once the change has been evicted")
+    void onUserChanged_ShouldNotBeUndoneByLoadInFlight() throws Exception {
+        // Arrange
+        AtomicLong stored = new AtomicLong(0L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(userRepository.findTokenVersionById(1L)).thenAnswer(invocation -> {
+            long version = stored.get();
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(version);
+        });
+
+        // Act
+        CompletableFuture<Boolean> request = CompletableFuture.supplyAsync(() -> tokenVersionCache.isCurrent(1L, 0L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        stored.set(1L);
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(
+                () -> tokenVersionCache.onUserChanged(new UserChangedEvent(1L, "anna")));
+        release.countDown();
+        boolean staleRequest = request.get(5, TimeUnit.SECONDS);
+        eviction.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(staleRequest);
+        assertFalse(tokenVersionCache.isCurrent(1L, 0L));
+        assertTrue(tokenVersionCache.isCurrent(1L, 1L));
+    }
+}
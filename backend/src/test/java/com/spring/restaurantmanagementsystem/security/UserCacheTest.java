@@ -0,0 +1,216 @@
+package com.spring.restaurantmanagementsystem.security;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.ChangePasswordRequest;
+import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
+import com.spring.restaurantmanagementsystem.enums.RoleEnum;
+import com.spring.restaurantmanagementsystem.model.Role;
+import com.spring.restaurantmanagementsystem.model.User;
+import com.spring.restaurantmanagementsystem.repository.RoleRepository;
+import com.spring.restaurantmanagementsystem.repository.UserRepository;
+import com.spring.restaurantmanagementsystem.service.AdminService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests for the user account cache: hits and misses, and eviction once a change to the user commits.
+ * Runs without a test transaction so the after-commit evictions fire.
+ * Each test gets a fresh context, and so an empty cache and fresh metrics.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({UserCache.class, AdminService.class, PersistenceConfig.class, UserCacheTest.CacheConfig.class})
+class UserCacheTest {
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private AdminService adminService;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    // Helper method to store a waiter directly, without going through the cache or its events
+    private Long createWaiter(String username) {
+        Role role = roleRepository.findByName(RoleEnum.WAITER).orElseGet(() -> {
+            Role waiter = new Role();
+            waiter.setName(RoleEnum.WAITER);
+            return roleRepository.save(waiter);
+        });
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@restaurant.test");
+        user.setPassword("hash");
+        user.setRoles(Set.of(role));
+        return userRepository.save(user).getId();
+    }
+
+    // Helper method to read the hit or miss count of the users cache
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("Should load a user once, serve later lookups from the cache and not cache unknown usernames")
+    void findByUsername_ShouldCacheKnownUsers() {
+        // Arrange
+        Long id = createWaiter("anna");
+
+        // Act
+        Optional<UserAccount> first = userCache.findByUsername("anna");
+        Optional<UserAccount> second = userCache.findByUsername("anna");
+        boolean unknownFound = userCache.findByUsername("ben").isPresent();
+        createWaiter("ben");
+        Optional<UserAccount> created = userCache.findByUsername("ben");
+
+        // Assert
+        assertEquals(id, first.orElseThrow().id());
+        assertEquals(first, second);
+        assertFalse(unknownFound);
+        assertTrue(created.isPresent());
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(3, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should evict a renamed user by id once the change commits, and not before")
+    void onUserChanged_ShouldEvictByIdAfterCommit() {
+        // Arrange
+        Long id = createWaiter("anna");
+        UserAccount cached = userCache.findByUsername("anna").orElseThrow();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        Optional<UserAccount> beforeCommit = transaction.execute(status -> {
+            adminService.updateUser(id, new UpdateUserRequest("anna.b", null, null));
+            return userCache.findByUsername("anna");
+        });
+        Optional<UserAccount> oldName = userCache.findByUsername("anna");
+        UserAccount newName = userCache.findByUsername("anna.b").orElseThrow();
+
+        // Assert
+        assertEquals(Optional.of(cached), beforeCommit);
+        assertTrue(oldName.isEmpty());
+        assertEquals(id, newName.id());
+        assertEquals(cached.tokenVersion() + 1, newName.tokenVersion());
+    }
+
+    @Test
+    @DisplayName("Should evict a user whose email changed, so /api/auth/me shows the new address")
+    void onUserChanged_ShouldEvictOnEmailChange() {
+        // Arrange
+        Long id = createWaiter("anna");
+        userCache.findByUsername("anna");
+
+        // Act
+        adminService.updateUser(id, new UpdateUserRequest(null, "anna@elsewhere.test", null));
+        UserAccount reloaded = userCache.findByUsername("anna").orElseThrow();
+
+        // Assert
+        assertEquals("anna@elsewhere.test", reloaded.email());
+        assertEquals(0, reloaded.tokenVersion());
+    }
+
+    @Test
+    @DisplayName("Should not keep an account loaded before a password change once the change has been evicted")
+    void onUserChanged_ShouldNotBeUndoneByLoadInFlight() throws Exception {
+        // Arrange
+        Long id = createWaiter("anna");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The spy wraps the repository's proxy, which has no real method to call, so the read goes to the proxy
+        Answer<?> repository = mockingDetails(userRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object read = repository.answer(invocation);
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return read;
+        }).when(userRepository).findByUsername("anna");
+
+        // Act
+        CompletableFuture<Optional<UserAccount>> login = CompletableFuture.supplyAsync(() -> userCache.findByUsername("anna"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> change = CompletableFuture.runAsync(() -> adminService.changeUserPassword(id,
+                new ChangePasswordRequest("new-password", "new-password")));
+        try {
+            // The eviction waits for the login's load, so the change only finishes once the load is released
+            change.get(500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Expected
+        }
+        release.countDown();
+        UserAccount stale = login.get(5, TimeUnit.SECONDS).orElseThrow();
+        change.get(5, TimeUnit.SECONDS);
+        reset(userRepository);
+        UserAccount reloaded = userCache.findByUsername("anna").orElseThrow();
+
+        // Assert
+        assertEquals(0, stale.tokenVersion());
+        assertEquals(1, reloaded.tokenVersion());
+    }
+}
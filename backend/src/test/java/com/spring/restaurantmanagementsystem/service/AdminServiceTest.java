@@ -1,11 +1,14 @@
 package com.spring.restaurantmanagementsystem.service;
 
 import com.spring.restaurantmanagementsystem.dto.CreateUserRequest;
+import com.spring.restaurantmanagementsystem.dto.CursorPage;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
 import com.spring.restaurantmanagementsystem.dto.UpdateUserRequest;
 import com.spring.restaurantmanagementsystem.dto.UserDto;
 import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
 import com.spring.restaurantmanagementsystem.model.Role;
 import com.spring.restaurantmanagementsystem.enums.RoleEnum;
+import com.spring.restaurantmanagementsystem.event.UserChangedEvent;
 //import com.spring.restaurantmanagementsystem.model.Store;
 import com.spring.restaurantmanagementsystem.model.User;
 import com.spring.restaurantmanagementsystem.repository.RoleRepository;
@@ -17,6 +20,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Collections;
@@ -25,10 +32,13 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -51,6 +61,9 @@ public class AdminServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -95,11 +108,13 @@ public class AdminServiceTest {
         User user1 = createUser(1L, "adminUser", "admin@example.com", "encodedPass1", Set.of(adminRole));
         User user2 = createUser(2L, "waiterUser", "waiter@example.com", "encodedPass2", Set.of(waiterRole));
 
-        // Mock userRepository to return a list of users
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        // Mock userRepository to return a single window of users
+        when(userRepository.findAllBy(any(ScrollPosition.class), eq(PageQuery.BY_ID), any(Limit.class)))
+                .thenReturn(Window.from(List.of(user1, user2), ScrollPosition::offset));
 
         // Act
-        List<UserDto> result = adminService.getAllUsers();
+        CursorPage<UserDto> page = adminService.getAllUsers(new PageQuery(null, null, null, null));
+        List<UserDto> result = page.items();
 
         // Assert
         assertNotNull(result);
@@ -108,9 +123,35 @@ public class AdminServiceTest {
         assertTrue(result.get(0).roles().contains("ADMIN"));
         assertEquals("waiterUser", result.get(1).username());
         assertTrue(result.get(1).roles().contains("WAITER"));
+        assertFalse(page.hasNext());
+        assertNull(page.nextAfterId());
 
-        // Verify that userRepository.findAll() was called
-        verify(userRepository, times(1)).findAll();
+        // Verify that userRepository.findAllBy() was called
+        verify(userRepository, times(1)).findAllBy(any(ScrollPosition.class), eq(PageQuery.BY_ID), any(Limit.class));
+    }
+
+    /**
+     * Test case for `getAllUsers` when more users follow the requested page.
+     * Verifies that the cursor of the next page points after the last returned user.
+     */
+    @Test
+    @DisplayName("Should return the next-page cursor when more users exist")
+    void getAllUsers_MoreUsers_ShouldReturnNextCursor() {
+        // Arrange
+        Role waiterRole = createRole(RoleEnum.WAITER);
+        User user1 = createUser(4L, "waiterOne", "one@example.com", "encodedPass1", Set.of(waiterRole));
+        User user2 = createUser(5L, "waiterTwo", "two@example.com", "encodedPass2", Set.of(waiterRole));
+
+        when(userRepository.findAllBy(any(ScrollPosition.class), eq(PageQuery.BY_ID), any(Limit.class)))
+                .thenReturn(Window.from(List.of(user1, user2), ScrollPosition::offset, true));
+
+        // Act
+        CursorPage<UserDto> page = adminService.getAllUsers(new PageQuery(null, 2, 3L, null));
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertTrue(page.hasNext());
+        assertEquals(5L, page.nextAfterId());
     }
 
     /**
@@ -121,17 +162,18 @@ public class AdminServiceTest {
     @DisplayName("Should return an empty list when no users exist")
     void getAllUsers_NoUsers_ShouldReturnEmptyList() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findAllBy(any(ScrollPosition.class), eq(PageQuery.BY_ID), any(Limit.class)))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
         // Act
-        List<UserDto> result = adminService.getAllUsers();
+        List<UserDto> result = adminService.getAllUsers(new PageQuery(null, null, null, null)).items();
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        // Verify that userRepository.findAll() was called
-        verify(userRepository, times(1)).findAll();
+        // Verify that userRepository.findAllBy() was called
+        verify(userRepository, times(1)).findAllBy(any(ScrollPosition.class), eq(PageQuery.BY_ID), any(Limit.class));
     }
 
     /**
@@ -300,6 +342,32 @@ public class AdminServiceTest {
         verify(userRepository, times(1)).save(existingUser); // Verify save was called with the modified existingUser
     }
 
+    /**
+     * Test case for `updateUser` when the role changes.
+     * Verifies that previously issued tokens are revoked once the change commits.
+     */
+    @Test
+    @DisplayName("Should bump the token version and publish a user change when the role changes")
+    void updateUser_RoleChange_ShouldRevokeTokens() {
+        // Arrange
+        Long userId = 1L;
+        UpdateUserRequest request = new UpdateUserRequest(null, null, "ADMIN");
+        User existingUser = createUser(userId, "waiterUser", "waiter@example.com", "oldPass",
+                Set.of(createRole(RoleEnum.WAITER)));
+        Role newRole = createRole(RoleEnum.ADMIN);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(roleRepository.findByName(RoleEnum.ADMIN)).thenReturn(Optional.of(newRole));
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+
+        // Act
+        adminService.updateUser(userId, request);
+
+        // Assert
+        assertEquals(1L, existingUser.getTokenVersion());
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(userId, "waiterUser"));
+    }
+
     /**
      * Test case for `updateUser` method (partial update - only username).
      * Verifies that only the username is updated.
@@ -477,7 +545,7 @@ public class AdminServiceTest {
         Long userId = 1L;
 
         // Mock userRepository to indicate user exists
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.of("waiterUser"));
         // Mock deleteById to do nothing (simulate successful deletion)
         doNothing().when(userRepository).deleteById(userId);
 
@@ -485,9 +553,10 @@ public class AdminServiceTest {
         adminService.deleteUser(userId);
 
         // Assert
-        // Verify that existsById was checked and deleteById was called
-        verify(userRepository, times(1)).existsById(userId);
+        // Verify that the user was looked up, deleted and evicted under its username
+        verify(userRepository, times(1)).findUsernameById(userId);
         verify(userRepository, times(1)).deleteById(userId);
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(userId, "waiterUser"));
     }
 
     /**
@@ -501,7 +570,7 @@ public class AdminServiceTest {
         Long userId = 99L;
 
         // Mock userRepository to indicate user does not exist
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findUsernameById(userId)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException thrown = assertThrows(ResourceNotFoundException.class, () ->
@@ -510,7 +579,7 @@ public class AdminServiceTest {
         assertEquals("User not found with id: " + userId, thrown.getMessage());
 
         // Verify interactions: deleteById should not be called
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userRepository, times(1)).findUsernameById(userId);
         verify(userRepository, never()).deleteById(any());
     }
 }
@@ -0,0 +1,145 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+import com.spring.restaurantmanagementsystem.dto.TableBoardEntry;
+import com.spring.restaurantmanagementsystem.event.OrderStateChangedEvent;
+import com.spring.restaurantmanagementsystem.event.TableBoardChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the server-sent floor events: fan-out, Last-Event-ID replay from the ring buffer,
+ * resets for clients that cannot be replayed and dropping clients that went away.
+ * Emitters record what they are sent instead of writing to a response.
+ */
+class FloorEventStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ServerSentEvents serverSentEvents = new ServerSentEvents(new ObjectMapper().findAndRegisterModules(),
+            meterRegistry, 4, Duration.ofMinutes(1), Duration.ofHours(1));
+    private final FloorEventStream floorEventStream = new FloorEventStream(mock(TableBoard.class), serverSentEvents);
+
+    @AfterEach
+    void tearDown() {
+        serverSentEvents.shutdown();
+    }
+
+    // Helper method to publish a committed order state change
+    private void publishOrderState(long orderId, String state) {
+        floorEventStream.onOrderStateChanged(new OrderStateChangedEvent(orderId, 1L, state, 1L));
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        floorEventStream.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    private double subscriberCount() {
+        return meterRegistry.get("events.subscribers").tag("channel", "floor").gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should push table and order changes to every subscriber in order")
+    void publish_ShouldFanOutToAllSubscribers() throws InterruptedException {
+        // Arrange
+        RecordingEmitter first = subscribe(null);
+        RecordingEmitter second = subscribe(null);
+        TableBoardEntry entry = new TableBoardEntry(5L, 3, "OCCUPIED", 9L, null, null, 1L, 2);
+
+        // Act
+        floorEventStream.onTableBoardChanged(new TableBoardChangedEvent(
+                new TableBoardChanges("epoch-2", false, List.of(entry), List.of())));
+        publishOrderState(9L, "PREPARING");
+
+        // Assert
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            String table = emitter.next();
+            assertTrue(table.contains("event:table\n"));
+            assertTrue(table.contains("\"number\":3"));
+            String order = emitter.next();
+            assertTrue(order.contains("event:order\n"));
+            assertTrue(order.contains("\"orderState\":\"PREPARING\""));
+        }
+        assertEquals(2, subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should replay the events after the Last-Event-ID of a reconnecting client")
+    void subscribe_ShouldReplayAfterLastEventId() throws InterruptedException {
+        // Arrange
+        RecordingEmitter original = subscribe(null);
+        publishOrderState(1L, "PREPARING");
+        String lastEventId = original.idOf(original.next());
+        publishOrderState(2L, "PREPARING");
+        publishOrderState(3L, "PREPARING");
+
+        // Act
+        RecordingEmitter reconnected = subscribe(lastEventId);
+
+        // Assert
+        assertTrue(reconnected.next().contains("\"orderId\":2"));
+        assertTrue(reconnected.next().contains("\"orderId\":3"));
+        assertNull(reconnected.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should reset a client whose last event is no longer buffered or from another run")
+    void subscribe_ShouldResetUnknownLastEventId() throws InterruptedException {
+        // Arrange
+        RecordingEmitter original = subscribe(null);
+        publishOrderState(1L, "PREPARING");
+        String evicted = original.idOf(original.next());
+        for (long orderId = 2; orderId <= 6; orderId++) {
+            publishOrderState(orderId, "PREPARING");
+        }
+
+        // Act
+        RecordingEmitter behind = subscribe(evicted);
+        RecordingEmitter restarted = subscribe("0-1");
+
+        // Assert: the stream continues after the reset
+        for (RecordingEmitter emitter : List.of(behind, restarted)) {
+            assertTrue(emitter.next().contains("event:reset\n"));
+        }
+        publishOrderState(7L, "PREPARING");
+        for (RecordingEmitter emitter : List.of(behind, restarted)) {
+            assertTrue(emitter.next().contains("\"orderId\":7"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose connection failed without holding up the others")
+    void publish_ShouldDropFailedSubscriber() throws InterruptedException {
+        // Arrange
+        RecordingEmitter failing = subscribe(null);
+        failing.failing = true;
+        RecordingEmitter healthy = subscribe(null);
+
+        // Act
+        publishOrderState(1L, "PREPARING");
+        publishOrderState(2L, "PREPARING");
+
+        // Assert
+        assertTrue(healthy.next().contains("\"orderId\":1"));
+        assertTrue(healthy.next().contains("\"orderId\":2"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, subscriberCount());
+        assertTrue(failing.sent.isEmpty());
+    }
+}
@@ -0,0 +1,310 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
+import com.spring.restaurantmanagementsystem.dto.KitchenItem;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.enums.KitchenStationEnum;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.MenuItem;
+import com.spring.restaurantmanagementsystem.repository.MenuItemRepository;
+import com.spring.restaurantmanagementsystem.repository.OrderItemRepository;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests for the kitchen station queues, and the claims and bumps that move items through them.
+ * Runs without a test transaction so the after-commit updates of the queues fire.
+ * Each test gets a fresh context, and so queues that load on their first read.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({KitchenService.class, KitchenQueue.class, ServerSentEvents.class, OrderService.class, OrderItemService.class,
+        OptimisticLockRetry.class, PersistenceConfig.class, KitchenQueueTest.StreamConfig.class})
+class KitchenQueueTest {
+
+    @Autowired
+    private KitchenService kitchenService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private KitchenQueue kitchenQueue;
+
+    @MockitoSpyBean
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long soup;
+    private Long steak;
+    private Long lemonade;
+
+    @TestConfiguration
+    static class StreamConfig {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        soup = createMenuItem("Soup", CategoryEnum.STARTER);
+        steak = createMenuItem("Steak", CategoryEnum.MAIN);
+        lemonade = createMenuItem("Lemonade", CategoryEnum.BEVERAGE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        menuItemRepository.deleteAll();
+    }
+
+    // Helper method to create a menu item in the given category
+    private Long createMenuItem(String name, CategoryEnum category) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setName(name);
+        menuItem.setDescription(name);
+        menuItem.setPrice(new BigDecimal("5.00"));
+        menuItem.setCategory(category);
+        return menuItemRepository.save(menuItem).getId();
+    }
+
+    private OrderDto createOrder(Long... menuItemIds) {
+        List<CreateOrderItemRequest> items = Arrays.stream(menuItemIds)
+                .map(menuItemId -> new CreateOrderItemRequest(menuItemId, 1, new BigDecimal("5.00")))
+                .toList();
+        return orderService.createOrder(new CreateOrderRequest(1L, 1L, items, "PENDING", 2));
+    }
+
+    private KitchenItem onlyItem(String station) {
+        List<KitchenItem> items = kitchenService.getStationItems(station);
+        assertEquals(1, items.size());
+        return items.get(0);
+    }
+
+    @Test
+    @DisplayName("Should route items by menu category, oldest ticket first, and serve the queues from memory")
+    void getStationItems_ShouldRouteByCategory() {
+        // Arrange
+        OrderDto first = createOrder(steak, soup, lemonade);
+        kitchenService.getStationItems("hot");
+        OrderDto second = createOrder(steak);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<KitchenItem> hot = kitchenService.getStationItems("hot");
+        KitchenItem cold = onlyItem("cold");
+        KitchenItem bar = onlyItem("bar");
+
+        // Assert
+        assertEquals(List.of(first.id(), second.id()), hot.stream().map(KitchenItem::orderId).toList());
+        assertEquals("Steak", hot.get(0).menuItemName());
+        assertEquals("QUEUED", hot.get(0).kitchenState());
+        assertEquals(soup, cold.menuItemId());
+        assertEquals(1, cold.course());
+        assertEquals(lemonade, bar.menuItemId());
+        assertTrue(kitchenService.getStationItems("pass").isEmpty());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertThrows(IllegalArgumentException.class, () -> kitchenService.getStationItems("grill"));
+    }
+
+    @Test
+    @DisplayName("Should let one cook claim an item and start the order")
+    void claimItem_ShouldClaimOnceAndStartOrder() {
+        // Arrange
+        OrderDto order = createOrder(steak);
+        KitchenItem queued = onlyItem("HOT");
+
+        // Act
+        KitchenItem claimed = kitchenService.claimItem(queued.itemId(), 7L);
+
+        // Assert
+        assertEquals("CLAIMED", claimed.kitchenState());
+        assertEquals(claimed, onlyItem("HOT"));
+        assertEquals(7L, onlyItem("HOT").claimedBy());
+        assertEquals(OrderStateEnum.PREPARING, orderRepository.findById(order.id()).orElseThrow().getOrderState());
+        ConflictException e = assertThrows(ConflictException.class, () -> kitchenService.claimItem(queued.itemId(), 8L));
+        assertEquals("Item " + queued.itemId() + " is CLAIMED, not QUEUED", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should take bumped items off the screen and mark the order ready after the last one")
+    void bumpItem_ShouldMarkOrderReadyAfterLastItem() {
+        // Arrange
+        OrderDto order = createOrder(steak, soup);
+        Long steakItem = onlyItem("hot").itemId();
+        Long soupItem = onlyItem("cold").itemId();
+        assertThrows(ConflictException.class, () -> kitchenService.bumpItem(steakItem));
+        kitchenService.claimItem(steakItem, 7L);
+        kitchenService.claimItem(soupItem, 8L);
+
+        // Act
+        kitchenService.bumpItem(soupItem);
+        OrderStateEnum afterFirstBump = orderRepository.findById(order.id()).orElseThrow().getOrderState();
+        kitchenService.bumpItem(steakItem);
+
+        // Assert
+        assertEquals(OrderStateEnum.PREPARING, afterFirstBump);
+        assertEquals(OrderStateEnum.READY, orderRepository.findById(order.id()).orElseThrow().getOrderState());
+        assertTrue(kitchenService.getStationItems("hot").isEmpty());
+        assertTrue(kitchenService.getStationItems("cold").isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> kitchenService.bumpItem(steakItem));
+    }
+
+    @Test
+    @DisplayName("Should mark the order ready when its last two items are bumped at the same time")
+    void bumpItem_ShouldMarkOrderReadyAfterConcurrentLastBumps() throws Exception {
+        // Arrange
+        OrderDto order = createOrder(steak, soup);
+        Long steakItem = onlyItem("hot").itemId();
+        Long soupItem = onlyItem("cold").itemId();
+        kitchenService.claimItem(steakItem, 7L);
+        kitchenService.claimItem(soupItem, 8L);
+        // Each bump waits after its update until the other has made its own, unless the other cannot get that far.
+        // The spy wraps the repository's proxy, which has no real method to call, so the update goes to the proxy
+        Answer<?> repository = mockingDetails(orderItemRepository).getMockCreationSettings().getDefaultAnswer();
+        CyclicBarrier bothBumped = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            Object updated = repository.answer(invocation);
+            try {
+                bothBumped.await(500, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | BrokenBarrierException e) {
+                // The other bump is waiting for this one to commit
+            }
+            return updated;
+        }).when(orderItemRepository).bumpItem(anyLong());
+
+        // Act
+        CompletableFuture<KitchenItem> steakBump = CompletableFuture.supplyAsync(() -> kitchenService.bumpItem(steakItem));
+        CompletableFuture<KitchenItem> soupBump = CompletableFuture.supplyAsync(() -> kitchenService.bumpItem(soupItem));
+        steakBump.get(10, TimeUnit.SECONDS);
+        soupBump.get(10, TimeUnit.SECONDS);
+        reset(orderItemRepository);
+
+        // Assert
+        assertEquals(OrderStateEnum.READY, orderRepository.findById(order.id()).orElseThrow().getOrderState());
+        assertTrue(kitchenService.getStationItems("hot").isEmpty());
+        assertTrue(kitchenService.getStationItems("cold").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should add items ordered later to the ticket and drop the ticket once the order is cancelled")
+    void onOrderItemsChanged_ShouldFollowItemsAndOrderState() {
+        // Arrange
+        OrderDto order = createOrder(steak);
+        kitchenService.getStationItems("hot");
+
+        // Act
+        orderItemService.createOrderItem(order.id(), new CreateOrderItemRequest(lemonade, 2, new BigDecimal("3.00")));
+        KitchenItem added = onlyItem("bar");
+        orderService.updateOrderState(order.id(), "CANCELLED", null);
+
+        // Assert
+        assertEquals(order.id(), added.orderId());
+        assertEquals(2, added.quantity());
+        assertTrue(kitchenService.getStationItems("hot").isEmpty());
+        assertTrue(kitchenService.getStationItems("bar").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should take the items of an order off the screens once they are all deleted")
+    void onOrderItemsChanged_ShouldRemoveDeletedItems() throws Exception {
+        // Arrange
+        OrderDto order = createOrder(steak);
+        KitchenItem queued = onlyItem("hot");
+        RecordingEmitter screen = new RecordingEmitter();
+        kitchenQueue.subscribe(KitchenStationEnum.HOT, screen, null);
+
+        // Act
+        orderItemService.deleteOrderItemsByOrderId(order.id());
+
+        // Assert
+        String removed = screen.next();
+        assertTrue(removed.contains("event:" + KitchenQueue.REMOVED_EVENT + "\n"));
+        assertTrue(removed.contains("\"itemId\":" + queued.itemId()));
+        assertTrue(kitchenService.getStationItems("hot").isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(orderService.getOrderById(order.id()).totalAmount()));
+        assertThrows(ResourceNotFoundException.class, () -> kitchenService.claimItem(queued.itemId(), 7L));
+    }
+
+    @Test
+    @DisplayName("Should unload the queues when a refresh fails and load them again with the change on next use")
+    void onOrderItemsChanged_ShouldReloadAfterFailedRefresh() {
+        // Arrange
+        OrderDto order = createOrder(steak);
+        KitchenItem queued = onlyItem("hot");
+        doThrow(new DataAccessResourceFailureException("Connection is not available"))
+                .when(orderItemRepository).findByOrderId(order.id());
+
+        // Act
+        kitchenService.claimItem(queued.itemId(), 7L);
+        reset(orderItemRepository);
+        KitchenItem reloaded = onlyItem("hot");
+
+        // Assert
+        assertEquals("CLAIMED", reloaded.kitchenState());
+        assertEquals(7L, reloaded.claimedBy());
+    }
+}
@@ -0,0 +1,121 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restaurantmanagementsystem.dto.MenuItemDto;
+import com.spring.restaurantmanagementsystem.dto.MenuSnapshot;
+import com.spring.restaurantmanagementsystem.enums.AllergenEnum;
+import com.spring.restaurantmanagementsystem.enums.CategoryEnum;
+import com.spring.restaurantmanagementsystem.event.MenuChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MenuCacheTest {
+
+    private final MenuCache menuCache = new MenuCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    // Helper method to build a one-item menu with the given price
+    private List<MenuItemDto> menu(String price) {
+        loads.incrementAndGet();
+        return List.of(new MenuItemDto(1L, "Soup", "Tomato soup", Set.of("GLUTEN"),
+                new BigDecimal(price), CategoryEnum.values()[0].name(), AllergenEnum.GLUTEN.bit()));
+    }
+
+    @Test
+    @DisplayName("Should load the menu once and serve the same snapshot afterwards")
+    void get_ShouldServeCachedSnapshot() {
+        // Act
+        MenuSnapshot first = menuCache.get(() -> menu("5.00"));
+        MenuSnapshot second = menuCache.get(() -> menu("5.00"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, first.itemsIn(CategoryEnum.values()[0]).size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild after a menu change and change the ETag only when the content changes")
+    void onMenuChanged_ShouldInvalidateSnapshot() {
+        // Arrange
+        MenuSnapshot original = menuCache.get(() -> menu("5.00"));
+
+        // Act
+        menuCache.onMenuChanged(new MenuChangedEvent(1L));
+        MenuSnapshot unchanged = menuCache.get(() -> menu("5.00"));
+        menuCache.onMenuChanged(new MenuChangedEvent(1L));
+        MenuSnapshot repriced = menuCache.get(() -> menu("6.00"));
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(original.json().etag(), unchanged.json().etag());
+        assertNotEquals(original.json().etag(), repriced.json().etag());
+    }
+
+    @Test
+    @DisplayName("Should not install a snapshot whose load raced with a menu change")
+    void get_ShouldDiscardSnapshotBuiltDuringChange() {
+        // Act
+        menuCache.get(() -> {
+            menuCache.onMenuChanged(new MenuChangedEvent(1L));
+            return menu("5.00");
+        });
+        menuCache.get(() -> menu("6.00"));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should pre-render the menu and every category as JSON with compressed variants")
+    void get_ShouldRenderJsonVariants() throws IOException {
+        // Act
+        MenuSnapshot snapshot = menuCache.get(() -> menu("5.00"));
+
+        // Assert
+        byte[] json = snapshot.json().identity();
+        assertArrayEquals(json, new GZIPInputStream(new ByteArrayInputStream(snapshot.json().gzip())).readAllBytes());
+        assertArrayEquals(json, new InflaterInputStream(new ByteArrayInputStream(snapshot.json().deflate())).readAllBytes());
+        assertEquals(CategoryEnum.values().length, snapshot.jsonByCategory().size());
+        assertArrayEquals(json, snapshot.jsonIn(CategoryEnum.values()[0]).identity());
+    }
+
+    @Test
+    @DisplayName("Should answer allergen-safe queries from the per-category bitset index")
+    void get_ShouldIndexAllergensPerCategory() {
+        // Arrange
+        CategoryEnum starter = CategoryEnum.STARTER;
+        MenuSnapshot snapshot = menuCache.get(() -> List.of(
+                new MenuItemDto(1L, "Bread", "Bread basket", Set.of("GLUTEN"), BigDecimal.ONE, starter.name(),
+                        AllergenEnum.GLUTEN.bit()),
+                new MenuItemDto(2L, "Satay", "Peanut satay", Set.of("PEANUTS", "SOY"), BigDecimal.TEN, starter.name(),
+                        AllergenEnum.maskOf(List.of(AllergenEnum.PEANUTS, AllergenEnum.SOY))),
+                new MenuItemDto(3L, "Salad", "Green salad", Set.of(), BigDecimal.TWO, starter.name(), 0),
+                new MenuItemDto(4L, "Cake", "Chocolate cake", Set.of("GLUTEN", "EGGS"), BigDecimal.TEN,
+                        CategoryEnum.DESSERT.name(), AllergenEnum.maskOf(List.of(AllergenEnum.GLUTEN, AllergenEnum.EGGS)))));
+        int glutenAndPeanuts = AllergenEnum.maskOf(List.of(AllergenEnum.GLUTEN, AllergenEnum.PEANUTS));
+
+        // Act
+        List<MenuItemDto> safeStarters = snapshot.allergenIndexIn(starter).itemsWithout(glutenAndPeanuts);
+        List<MenuItemDto> safeAnywhere = snapshot.allergenIndex().itemsWithout(AllergenEnum.EGGS.bit());
+
+        // Assert
+        assertEquals(List.of(3L), safeStarters.stream().map(MenuItemDto::id).toList());
+        assertEquals(List.of(1L, 2L, 3L), safeAnywhere.stream().map(MenuItemDto::id).toList());
+        assertEquals(0, snapshot.allergenIndexIn(CategoryEnum.BEVERAGE).itemsWithout(glutenAndPeanuts).size());
+    }
+}
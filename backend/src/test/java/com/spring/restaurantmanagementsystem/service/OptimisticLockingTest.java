@@ -0,0 +1,233 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.PaymentDto;
+import com.spring.restaurantmanagementsystem.dto.RestaurantTableDto;
+import com.spring.restaurantmanagementsystem.dto.UpdatePaymentRequest;
+import com.spring.restaurantmanagementsystem.enums.PaymentMethodEnum;
+import com.spring.restaurantmanagementsystem.enums.PaymentStatusEnum;
+import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.PreconditionFailedException;
+import com.spring.restaurantmanagementsystem.model.Payment;
+import com.spring.restaurantmanagementsystem.model.RestaurantTable;
+import com.spring.restaurantmanagementsystem.repository.PaymentRepository;
+import com.spring.restaurantmanagementsystem.repository.RestaurantTableRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Tests for the version columns of tables and payments, the If-Match checks and the bounded
+ * retry. Runs without a test transaction so every service call commits like in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RestaurantTableService.class, PaymentService.class, OrderService.class, OrderItemService.class, TableBoard.class,
+        OptimisticLockRetry.class, PersistenceConfig.class})
+class OptimisticLockingTest {
+
+    @Autowired
+    private RestaurantTableService restaurantTableService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @MockitoSpyBean
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        restaurantTableRepository.deleteAll();
+        paymentRepository.deleteAll();
+    }
+
+    // Helper method to create an available table
+    private Long createTable() {
+        RestaurantTable table = new RestaurantTable();
+        table.setNumber(1);
+        table.setTableState(TableStateEnum.AVAILABLE);
+        return restaurantTableRepository.save(table).getId();
+    }
+
+    // Helper method to commit a change to the table from another transaction
+    private void updateConcurrently(Long tableId) {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        concurrent.executeWithoutResult(status -> restaurantTableRepository.findById(tableId).orElseThrow()
+                .setTableState(TableStateEnum.RESERVED));
+    }
+
+    @Test
+    @DisplayName("Should start at version 0 and increment the version on every update")
+    void updateTableState_ShouldIncrementVersion() {
+        // Arrange
+        Long id = createTable();
+
+        // Act
+        RestaurantTableDto reserved = restaurantTableService.updateTableState(id, "reserved", null);
+        RestaurantTableDto available = restaurantTableService.updateTableState(id, "available", 1L);
+
+        // Assert
+        assertEquals(1L, reserved.version());
+        assertEquals(2L, available.version());
+        assertEquals(2L, restaurantTableRepository.findById(id).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should reject a write based on a stale version and leave the row untouched")
+    void updateTableState_ShouldRejectStaleVersion() {
+        // Arrange
+        Long id = createTable();
+        restaurantTableService.updateTableState(id, "reserved", 0L);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> restaurantTableService.updateTableState(id, "out_of_service", 0L));
+        assertEquals(TableStateEnum.RESERVED, restaurantTableRepository.findById(id).orElseThrow().getTableState());
+    }
+
+    @Test
+    @DisplayName("Should report a state change that lost a race as a conflict instead of retrying over it")
+    void updateTableState_ShouldNotOverwriteConcurrentChange() {
+        // Arrange: another client changes the table right after this request read it
+        Long id = createTable();
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            RestaurantTable table = entityManager.find(RestaurantTable.class, id);
+            if (raced.compareAndSet(false, true)) {
+                updateConcurrently(id);
+            }
+            return Optional.ofNullable(table);
+        }).when(restaurantTableRepository).findById(id);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> restaurantTableService.updateTableState(id, "out_of_service", null));
+        RestaurantTable table = restaurantTableRepository.findById(id).orElseThrow();
+        assertEquals(TableStateEnum.RESERVED, table.getTableState());
+        assertEquals(1L, table.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should let only the first of two waiters seat a table")
+    void assignOrderToTable_ShouldRejectSecondWaiter() {
+        // Arrange
+        Long id = createTable();
+        restaurantTableService.assignOrderToTable(id, 100L, null);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> restaurantTableService.assignOrderToTable(id, 200L, null));
+        assertEquals(100L, restaurantTableRepository.findById(id).orElseThrow().getCurrentOrderId());
+        // Seating the same order again is a no-op rather than a conflict
+        assertEquals(1L, restaurantTableService.assignOrderToTable(id, 100L, null).version());
+    }
+
+    @Test
+    @DisplayName("Should fail the write of a transaction that read the row before a concurrent commit")
+    void version_ShouldDetectLostUpdate() {
+        // Arrange
+        Long id = createTable();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+            RestaurantTable table = restaurantTableRepository.findById(id).orElseThrow();
+            updateConcurrently(id);
+            table.setCurrentOrderId(100L);
+            restaurantTableRepository.saveAndFlush(table);
+        }));
+    }
+
+    @Test
+    @DisplayName("Should retry a lost update on fresh rows until it commits")
+    void execute_ShouldRetryLostUpdate() {
+        // Arrange
+        Long id = createTable();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act: the first attempt loses the race against a concurrent writer
+        RestaurantTable updated = optimisticLockRetry.execute(() -> {
+            RestaurantTable table = restaurantTableRepository.findById(id).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                updateConcurrently(id);
+            }
+            table.setCurrentOrderId(100L);
+            return restaurantTableRepository.saveAndFlush(table);
+        });
+
+        // Assert
+        assertEquals(2, attempts.get());
+        assertEquals(2L, updated.getVersion());
+        assertEquals(TableStateEnum.RESERVED, updated.getTableState());
+        assertEquals(100L, updated.getCurrentOrderId());
+    }
+
+    @Test
+    @DisplayName("Should give up after the configured number of attempts")
+    void execute_ShouldBoundAttempts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> optimisticLockRetry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("lost");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should apply payment updates only at the version the cashier saw")
+    void updatePayment_ShouldCheckVersion() {
+        // Arrange
+        Payment payment = new Payment();
+        payment.setAmount(new BigDecimal("20.00"));
+        payment.setPaymentMethod(PaymentMethodEnum.CARD);
+        payment.setPaymentStatus(PaymentStatusEnum.PENDING);
+        payment.setOrderId(1L);
+        Long id = paymentRepository.save(payment).getId();
+
+        // Act
+        PaymentDto completed = paymentService.updatePaymentStatus(id, "completed", 0L);
+
+        // Assert
+        assertEquals(1L, completed.version());
+        assertThrows(PreconditionFailedException.class, () -> paymentService.updatePayment(id,
+                new UpdatePaymentRequest(new BigDecimal("25.00"), "CASH", "COMPLETED"), 0L));
+        assertEquals(new BigDecimal("20.00"), paymentRepository.findById(id).orElseThrow().getAmount());
+    }
+}
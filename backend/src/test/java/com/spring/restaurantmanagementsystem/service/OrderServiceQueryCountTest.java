@@ -0,0 +1,217 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.OrderItemDto;
+import com.spring.restaurantmanagementsystem.dto.PageQuery;
+import com.spring.restaurantmanagementsystem.dto.UpdateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.UpdateOrderRequest;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.model.OrderItem;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Statement-count tests for the OrderService list, create and update methods.
+ * Runs against the embedded H2 database and reads Hibernate statistics
+ * to make sure listing orders does not issue one query per order,
+ * creating one does not issue one insert per item
+ * and updating one only writes the lines that changed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderItemService.class, OptimisticLockRetry.class, PersistenceConfig.class})
+class OrderServiceQueryCountTest {
+
+    private static final long TABLE_ID = 7L;
+    private static final long USER_ID = 3L;
+    private static final PageQuery PAGE = PageQuery.firstPage(100);
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockitoSpyBean
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Helper method to persist an order with the given number of items
+    private Order persistOrder(int itemCount) {
+        Order order = new Order();
+        order.setTableId(TABLE_ID);
+        order.setUserId(USER_ID);
+        order.setCustomerCount(2);
+        order.setOrderState(OrderStateEnum.PENDING);
+        for (int i = 0; i < itemCount; i++) {
+            order.getOrderItems().add(new OrderItem(order, (long) i + 1, 1, new BigDecimal("4.50")));
+        }
+        entityManager.persist(order);
+        return order;
+    }
+
+    // Helper method to run a list call on a cold persistence context and count its statements
+    private long countStatements(Supplier<List<OrderDto>> listCall, int expectedOrders) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<OrderDto> orders = listCall.get();
+
+        assertEquals(expectedOrders, orders.size());
+        orders.forEach(order -> assertEquals(2, order.orderItems().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Should list orders with a constant number of statements regardless of order count")
+    void listOrders_ShouldUseConstantNumberOfStatements() {
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            persistOrder(2);
+        }
+
+        // Act
+        long allFew = countStatements(() -> orderService.getAllOrders(PAGE).items(), 3);
+        long byTableFew = countStatements(() -> orderService.getOrdersByTableId(TABLE_ID, PAGE).items(), 3);
+        long byUserFew = countStatements(() -> orderService.getOrdersByUserId(USER_ID, PAGE).items(), 3);
+        long byDateFew = countStatements(() -> orderService.getOrdersByDateRange(from, to, PAGE).items(), 3);
+
+        for (int i = 0; i < 30; i++) {
+            persistOrder(2);
+        }
+
+        long allMany = countStatements(() -> orderService.getAllOrders(PAGE).items(), 33);
+        long byTableMany = countStatements(() -> orderService.getOrdersByTableId(TABLE_ID, PAGE).items(), 33);
+        long byUserMany = countStatements(() -> orderService.getOrdersByUserId(USER_ID, PAGE).items(), 33);
+        long byDateMany = countStatements(() -> orderService.getOrdersByDateRange(from, to, PAGE).items(), 33);
+
+        // Assert: one query for the orders and one batched query for their items
+        assertEquals(2, allFew);
+        assertEquals(allFew, allMany);
+        assertEquals(byTableFew, byTableMany);
+        assertEquals(byUserFew, byUserMany);
+        assertEquals(byDateFew, byDateMany);
+    }
+
+    @Test
+    @DisplayName("Should stream a date range with one query for the orders and one per chunk of items")
+    void streamOrdersByDateRange_ShouldBatchItemsPerChunk() {
+        // Arrange
+        for (int i = 0; i < 33; i++) {
+            persistOrder(2);
+        }
+
+        // Act
+        List<OrderDto> exported = new ArrayList<>();
+        long statements = countStatements(() -> {
+            orderService.streamOrdersByDateRange(LocalDateTime.now().minusDays(1),
+                    LocalDateTime.now().plusDays(1), exported::addAll);
+            return exported;
+        }, 33);
+
+        // Assert
+        assertEquals(2, statements);
+    }
+
+    @Test
+    @DisplayName("Should insert a large order in JDBC batches instead of one statement per item")
+    void createOrder_ShouldBatchItemInserts() {
+        // Arrange
+        List<CreateOrderItemRequest> items = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> new CreateOrderItemRequest((long) i, 1, new BigDecimal("4.50")))
+                .toList();
+        CreateOrderRequest request = new CreateOrderRequest(TABLE_ID, USER_ID, items, "PENDING", 4);
+        statistics.clear();
+
+        // Act
+        OrderDto created = orderService.createOrder(request);
+        entityManager.flush();
+
+        // Assert: ids are known before the flush, and the 121 rows need one insert per batch of 50
+        // plus at most one sequence call per 50 ids
+        assertEquals(120, created.orderItems().size());
+        created.orderItems().forEach(item -> assertNotNull(item.id()));
+        assertEquals(121, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    @DisplayName("Should merge edited lines in place, writing only changed, new and removed lines and the total once")
+    void updateOrder_ShouldMergeLinesInPlace() {
+        // Arrange: one of each of menu items 1, 2 and 3
+        Order order = persistOrder(3);
+        entityManager.flush();
+        Map<Long, Long> lineIds = order.getOrderItems().stream()
+                .collect(Collectors.toMap(OrderItem::getMenuItemId, OrderItem::getId));
+        entityManager.clear();
+        BigDecimal price = new BigDecimal("4.50");
+        UpdateOrderRequest request = new UpdateOrderRequest(TABLE_ID, List.of(
+                new UpdateOrderItemRequest(1L, 1, price),
+                new UpdateOrderItemRequest(2L, 3, price),
+                new UpdateOrderItemRequest(4L, 2, new BigDecimal("6.00"))), "PENDING", 2);
+        statistics.clear();
+
+        // Act
+        OrderDto updated = orderService.updateOrder(order.getId(), request, null);
+
+        // Assert: the unchanged line is not written, the changed one is updated under its id,
+        // the new one inserted and the dropped one deleted
+        EntityStatistics lines = statistics.getEntityStatistics(OrderItem.class.getName());
+        assertEquals(1, lines.getUpdateCount());
+        assertEquals(1, lines.getInsertCount());
+        assertEquals(1, lines.getDeleteCount());
+        Map<Long, OrderItemDto> byMenuItem = updated.orderItems().stream()
+                .collect(Collectors.toMap(OrderItemDto::menuItemId, Function.identity()));
+        assertEquals(List.of(1L, 2L, 4L), byMenuItem.keySet().stream().sorted().toList());
+        assertEquals(lineIds.get(1L), byMenuItem.get(1L).id());
+        assertEquals(lineIds.get(2L), byMenuItem.get(2L).id());
+        assertEquals(3, byMenuItem.get(2L).quantity());
+        assertNotNull(byMenuItem.get(4L).id());
+        assertEquals(0, new BigDecimal("30.00").compareTo(updated.totalAmount()));
+        verify(orderItemService, times(1)).calculateTotal(any());
+    }
+}
@@ -0,0 +1,179 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderRequest;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.enums.OrderStateEnum;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.Order;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the order state machine and the conditional update that applies it.
+ * Runs against the embedded H2 database so the UPDATE ... WHERE order_state IN (...)
+ * is executed for real.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderItemService.class, OptimisticLockRetry.class, PersistenceConfig.class})
+class OrderStateTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Helper method to persist an order in the given state on a cold persistence context
+    private Long persistOrder(OrderStateEnum state) {
+        Order order = new Order();
+        order.setTableId(1L);
+        order.setUserId(1L);
+        order.setCustomerCount(2);
+        order.setTotalAmount(BigDecimal.ZERO);
+        order.setOrderState(state);
+        Long id = entityManager.persistAndFlush(order).getId();
+        entityManager.clear();
+        return id;
+    }
+
+    private OrderStateEnum stateOf(Long id) {
+        entityManager.clear();
+        return entityManager.find(Order.class, id).getOrderState();
+    }
+
+    @Test
+    @DisplayName("Should allow the kitchen flow one step at a time and cancellation until paid")
+    void transitions_ShouldFollowTheLifecycle() {
+        assertEquals(EnumSet.of(OrderStateEnum.PREPARING, OrderStateEnum.CANCELLED),
+                OrderStateEnum.PENDING.nextStates());
+        assertTrue(OrderStateEnum.SERVED.canTransitionTo(OrderStateEnum.PAID));
+        assertFalse(OrderStateEnum.PENDING.canTransitionTo(OrderStateEnum.READY));
+        assertFalse(OrderStateEnum.READY.canTransitionTo(OrderStateEnum.PREPARING));
+        assertTrue(OrderStateEnum.PAID.nextStates().isEmpty());
+        assertTrue(OrderStateEnum.CANCELLED.nextStates().isEmpty());
+        assertEquals(EnumSet.of(OrderStateEnum.SERVED), OrderStateEnum.PAID.previousStates());
+        assertTrue(OrderStateEnum.PENDING.previousStates().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should create orders in PENDING and reject any other initial state")
+    void createOrder_ShouldOnlyStartPending() {
+        // Arrange
+        CreateOrderRequest paid = new CreateOrderRequest(1L, 1L, List.of(), "PAID", 2);
+
+        // Act
+        OrderDto created = orderService.createOrder(new CreateOrderRequest(1L, 1L, List.of(), "pending", 2));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(paid));
+
+        // Assert
+        assertEquals("PENDING", created.orderState());
+        assertEquals("New orders start in PENDING, not PAID", e.getMessage());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should apply a legal transition with one update and no read before it")
+    void updateOrderState_ShouldApplyLegalTransition() {
+        // Arrange
+        Long id = persistOrder(OrderStateEnum.PREPARING);
+        LocalDateTime before = LocalDateTime.now();
+        statistics.clear();
+
+        // Act
+        OrderDto updated = orderService.updateOrderState(id, "ready", null);
+
+        // Assert: the conditional update, then the order and its items for the response
+        assertEquals("READY", updated.orderState());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(OrderStateEnum.READY, stateOf(id));
+        assertFalse(entityManager.find(Order.class, id).getUpdatedAt().isBefore(before));
+    }
+
+    @Test
+    @DisplayName("Should reject a transition the state machine does not allow")
+    void updateOrderState_ShouldRejectIllegalTransition() {
+        // Arrange
+        Long id = persistOrder(OrderStateEnum.PENDING);
+
+        // Act & Assert
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> orderService.updateOrderState(id, "SERVED", null));
+        assertEquals("Cannot move order " + id + " from PENDING to SERVED", e.getMessage());
+        assertEquals(OrderStateEnum.PENDING, stateOf(id));
+    }
+
+    @Test
+    @DisplayName("Should reject a transition that lost the race to a concurrent update")
+    void updateOrderState_ShouldRejectLostTransition() {
+        // Arrange: two clients both saw PREPARING and both try to mark the order ready
+        Long id = persistOrder(OrderStateEnum.PREPARING);
+        orderService.updateOrderState(id, "READY", null);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> orderService.updateOrderState(id, "READY", null));
+        assertEquals(OrderStateEnum.READY, stateOf(id));
+    }
+
+    @Test
+    @DisplayName("Should not touch an order that moved on in the meantime")
+    void updateOrderState_ShouldOnlyUpdateFromExpectedState() {
+        // Arrange
+        Long id = persistOrder(OrderStateEnum.PAID);
+
+        // Act
+        int updated = orderRepository.updateOrderState(id, OrderStateEnum.CANCELLED.previousStates(),
+                OrderStateEnum.CANCELLED, LocalDateTime.now(), null);
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals(OrderStateEnum.PAID, stateOf(id));
+    }
+
+    @Test
+    @DisplayName("Should report a missing order as not found rather than a conflict")
+    void updateOrderState_ShouldThrowNotFoundForMissingOrder() {
+        assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrderState(-1L, "PREPARING", null));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown state name")
+    void updateOrderState_ShouldRejectUnknownState() {
+        Long id = persistOrder(OrderStateEnum.PENDING);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderState(id, "EATEN", null));
+    }
+}
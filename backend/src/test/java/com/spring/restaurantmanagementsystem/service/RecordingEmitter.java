@@ -0,0 +1,46 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * An emitter for tests that records every event as the text it would put on the wire,
+ * instead of writing to a response.
+ */
+final class RecordingEmitter extends SseEmitter {
+    final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    volatile boolean failing;
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+        if (failing) {
+            throw new IOException("Broken pipe");
+        }
+        sent.add(builder.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .map(String::valueOf)
+                .collect(Collectors.joining()));
+    }
+
+    String next() throws InterruptedException {
+        String event = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "No event was sent");
+        return event;
+    }
+
+    String idOf(String event) {
+        return event.lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
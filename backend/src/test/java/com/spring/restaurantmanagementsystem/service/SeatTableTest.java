@@ -0,0 +1,151 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.SeatTableRequest;
+import com.spring.restaurantmanagementsystem.enums.TableStateEnum;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.exception.ResourceNotFoundException;
+import com.spring.restaurantmanagementsystem.model.RestaurantTable;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import com.spring.restaurantmanagementsystem.repository.RestaurantTableRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for seating a party: the conditional claim of the table and the order written with it.
+ * Runs without a test transaction so each seating commits or rolls back on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RestaurantTableService.class, OrderService.class, OrderItemService.class, TableBoard.class,
+        OptimisticLockRetry.class, PersistenceConfig.class})
+class SeatTableTest {
+
+    @Autowired
+    private RestaurantTableService restaurantTableService;
+
+    @Autowired
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        restaurantTableRepository.deleteAll();
+    }
+
+    // Helper method to create a table in the given state
+    private Long createTable(int number, TableStateEnum state) {
+        RestaurantTable table = new RestaurantTable();
+        table.setNumber(number);
+        table.setTableState(state);
+        return restaurantTableRepository.save(table).getId();
+    }
+
+    private SeatTableRequest party(long waiterId) {
+        return new SeatTableRequest(waiterId, 4,
+                List.of(new CreateOrderItemRequest(1L, 2, new BigDecimal("9.50"))));
+    }
+
+    @Test
+    @DisplayName("Should open a pending order and occupy the table with it")
+    void seatTable_ShouldCreateOrderAndOccupyTable() {
+        // Arrange
+        Long tableId = createTable(1, TableStateEnum.AVAILABLE);
+
+        // Act
+        OrderDto order = restaurantTableService.seatTable(tableId, party(7L));
+
+        // Assert
+        assertEquals("PENDING", order.orderState());
+        assertEquals(tableId, order.tableId());
+        assertEquals(new BigDecimal("19.00"), order.totalAmount());
+        RestaurantTable table = restaurantTableRepository.findById(tableId).orElseThrow();
+        assertEquals(TableStateEnum.OCCUPIED, table.getTableState());
+        assertEquals(order.id(), table.getCurrentOrderId());
+        assertEquals(1L, table.getVersion());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a party at a table that is not available and write no order")
+    void seatTable_ShouldRejectUnavailableTable() {
+        // Arrange
+        Long tableId = createTable(1, TableStateEnum.AVAILABLE);
+        OrderDto first = restaurantTableService.seatTable(tableId, party(7L));
+        Long reservedId = createTable(2, TableStateEnum.RESERVED);
+
+        // Act & Assert
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> restaurantTableService.seatTable(tableId, party(8L)));
+        assertEquals("Table " + tableId + " is OCCUPIED, not AVAILABLE", e.getMessage());
+        assertThrows(ConflictException.class, () -> restaurantTableService.seatTable(reservedId, party(8L)));
+        assertEquals(1, orderRepository.count());
+        assertEquals(first.id(), restaurantTableRepository.findById(tableId).orElseThrow().getCurrentOrderId());
+    }
+
+    @Test
+    @DisplayName("Should report a missing table as not found and write no order")
+    void seatTable_ShouldThrowNotFoundForMissingTable() {
+        assertThrows(ResourceNotFoundException.class, () -> restaurantTableService.seatTable(-1L, party(7L)));
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should seat exactly one of several waiters racing for the same table")
+    void seatTable_ShouldSeatOneOfConcurrentWaiters() throws Exception {
+        // Arrange
+        Long tableId = createTable(1, TableStateEnum.AVAILABLE);
+        int waiters = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderDto>> attempts = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(waiters)) {
+            for (int i = 0; i < waiters; i++) {
+                long waiterId = i;
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return restaurantTableService.seatTable(tableId, party(waiterId));
+                }));
+            }
+            start.countDown();
+        }
+
+        // Assert
+        List<OrderDto> seated = new ArrayList<>();
+        for (Future<OrderDto> attempt : attempts) {
+            try {
+                seated.add(attempt.get());
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+            }
+        }
+        assertEquals(1, seated.size());
+        assertEquals(1, orderRepository.count());
+        assertEquals(seated.get(0).id(), restaurantTableRepository.findById(tableId).orElseThrow().getCurrentOrderId());
+    }
+}
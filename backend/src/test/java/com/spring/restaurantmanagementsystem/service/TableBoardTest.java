@@ -0,0 +1,262 @@
+package com.spring.restaurantmanagementsystem.service;
+
+import com.spring.restaurantmanagementsystem.config.PersistenceConfig;
+import com.spring.restaurantmanagementsystem.dto.CreateOrderItemRequest;
+import com.spring.restaurantmanagementsystem.dto.CreateRestaurantTableRequest;
+import com.spring.restaurantmanagementsystem.dto.OrderDto;
+import com.spring.restaurantmanagementsystem.dto.RestaurantTableDto;
+import com.spring.restaurantmanagementsystem.dto.SeatTableRequest;
+import com.spring.restaurantmanagementsystem.dto.TableBoardChanges;
+import com.spring.restaurantmanagementsystem.dto.TableBoardEntry;
+import com.spring.restaurantmanagementsystem.dto.UpdateRestaurantTableRequest;
+import com.spring.restaurantmanagementsystem.exception.ConflictException;
+import com.spring.restaurantmanagementsystem.repository.OrderRepository;
+import com.spring.restaurantmanagementsystem.repository.RestaurantTableRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests for the in-memory floor plan and how committed table and order writes reach it.
+ * Runs without a test transaction so the after-commit updates of the board fire.
+ * Each test gets a fresh context, and so a board that loads on its first read.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({RestaurantTableService.class, OrderService.class, OrderItemService.class, TableBoard.class,
+        OptimisticLockRetry.class, PersistenceConfig.class})
+class TableBoardTest {
+
+    @Autowired
+    private RestaurantTableService restaurantTableService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private TableBoard tableBoard;
+
+    @MockitoSpyBean
+    private RestaurantTableRepository restaurantTableRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        restaurantTableRepository.deleteAll();
+    }
+
+    // Helper method to create an available table through the service
+    private Long createTable(int number) {
+        return restaurantTableService.createTable(new CreateRestaurantTableRequest(number, "AVAILABLE")).id();
+    }
+
+    private OrderDto seat(Long tableId) {
+        return restaurantTableService.seatTable(tableId, new SeatTableRequest(1L, 2,
+                List.of(new CreateOrderItemRequest(1L, 2, new BigDecimal("10.00")))));
+    }
+
+    // Helper method to read the version token a client holds after loading the board
+    private String currentToken() {
+        return tableBoard.changesSince(null).version();
+    }
+
+    private TableBoardEntry entry(int number) {
+        return tableBoard.tables().stream()
+                .filter(entry -> entry.number() == number)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Test
+    @DisplayName("Should serve the table list from memory after the first load")
+    void getAllTables_ShouldNotQueryAfterFirstLoad() {
+        // Arrange
+        createTable(2);
+        createTable(1);
+        restaurantTableService.getAllTables();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<RestaurantTableDto> tables = restaurantTableService.getAllTables();
+        List<RestaurantTableDto> available = restaurantTableService.getTablesByState("available");
+
+        // Assert
+        assertEquals(List.of(1, 2), tables.stream().map(RestaurantTableDto::number).toList());
+        assertEquals(2, available.size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should show a seated party with its open total and report it as a change")
+    void seatTable_ShouldUpdateBoard() {
+        // Arrange
+        Long tableId = createTable(1);
+        createTable(2);
+        long before = tableBoard.version();
+        String since = currentToken();
+
+        // Act
+        OrderDto order = seat(tableId);
+        orderItemService.createOrderItem(order.id(), new CreateOrderItemRequest(2L, 1, new BigDecimal("4.50")));
+        TableBoardChanges changes = tableBoard.changesSince(since);
+
+        // Assert
+        assertEquals(before + 2, tableBoard.version());
+        assertFalse(changes.full());
+        assertEquals(1, changes.tables().size());
+        TableBoardEntry seated = changes.tables().get(0);
+        assertEquals("OCCUPIED", seated.tableState());
+        assertEquals(order.id(), seated.currentOrderId());
+        assertEquals(new BigDecimal("24.50"), seated.openTotal());
+        assertNotNull(seated.seatedAt());
+        assertEquals(before + 2, seated.boardVersion());
+        assertTrue(tableBoard.changesSince(changes.version()).tables().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop the open total once the order is final")
+    void updateOrderState_ShouldCloseOpenTotal() {
+        // Arrange
+        Long tableId = createTable(1);
+        OrderDto order = seat(tableId);
+        tableBoard.tables();
+
+        // Act
+        orderService.updateOrderState(order.id(), "CANCELLED", null);
+
+        // Assert
+        TableBoardEntry entry = entry(1);
+        assertEquals(order.id(), entry.currentOrderId());
+        assertNull(entry.openTotal());
+        assertNull(entry.seatedAt());
+    }
+
+    @Test
+    @DisplayName("Should leave the board untouched when a write rolls back")
+    void seatTable_ShouldNotChangeBoardOnConflict() {
+        // Arrange
+        Long tableId = createTable(1);
+        seat(tableId);
+        long version = tableBoard.version();
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> seat(tableId));
+        assertEquals(version, tableBoard.version());
+    }
+
+    @Test
+    @DisplayName("Should report renumbered and deleted tables as removed numbers")
+    void changesSince_ShouldReportRemovedTables() {
+        // Arrange
+        Long first = createTable(1);
+        Long second = createTable(2);
+        String since = currentToken();
+
+        // Act
+        restaurantTableService.updateTable(first, new UpdateRestaurantTableRequest(5, null, "AVAILABLE"), null);
+        restaurantTableService.deleteTable(second);
+        TableBoardChanges changes = tableBoard.changesSince(since);
+
+        // Assert
+        assertEquals(List.of(1, 2), changes.removedNumbers());
+        assertEquals(List.of(5), changes.tables().stream().map(TableBoardEntry::number).toList());
+        assertEquals(List.of(5), tableBoard.tables().stream().map(TableBoardEntry::number).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep tables with high numbers in number order")
+    void tables_ShouldOrderSparseNumbers() {
+        // Arrange
+        createTable(1_000_000);
+        Long moved = createTable(7);
+        tableBoard.tables();
+
+        // Act
+        createTable(40);
+        restaurantTableService.updateTable(moved, new UpdateRestaurantTableRequest(2_000_000, null, "AVAILABLE"), null);
+
+        // Assert
+        assertEquals(List.of(40, 1_000_000, 2_000_000),
+                tableBoard.tables().stream().map(TableBoardEntry::number).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop the board when a refresh fails and load it again with the change on the next read")
+    void onTableChanged_ShouldReloadAfterFailedRefresh() {
+        // Arrange
+        Long tableId = createTable(1);
+        long before = tableBoard.version();
+        String since = currentToken();
+        doThrow(new DataAccessResourceFailureException("Connection is not available"))
+                .when(restaurantTableRepository).findById(tableId);
+
+        // Act
+        OrderDto order = seat(tableId);
+        reset(restaurantTableRepository);
+        TableBoardChanges changes = tableBoard.changesSince(since);
+
+        // Assert
+        assertTrue(changes.full());
+        assertTrue(tableBoard.version() > before);
+        assertEquals("OCCUPIED", entry(1).tableState());
+        assertEquals(order.id(), entry(1).currentOrderId());
+    }
+
+    @Test
+    @DisplayName("Should return the whole board for a version it does not know, such as one from before a restart")
+    void changesSince_ShouldReturnFullBoardForUnknownVersion() {
+        // Arrange
+        createTable(1);
+        createTable(2);
+        String current = currentToken();
+        String epoch = current.substring(0, current.indexOf('-'));
+
+        // Act
+        TableBoardChanges ahead = tableBoard.changesSince(epoch + "-" + (tableBoard.version() + 100));
+        TableBoardChanges beforeRestart = tableBoard.changesSince("restart-" + tableBoard.version());
+        TableBoardChanges malformed = tableBoard.changesSince(Long.toString(tableBoard.version()));
+
+        // Assert
+        for (TableBoardChanges changes : List.of(ahead, beforeRestart, malformed)) {
+            assertTrue(changes.full());
+            assertEquals(2, changes.tables().size());
+            assertTrue(changes.removedNumbers().isEmpty());
+            assertEquals(current, changes.version());
+        }
+        assertFalse(tableBoard.changesSince(current).full());
+    }
+}